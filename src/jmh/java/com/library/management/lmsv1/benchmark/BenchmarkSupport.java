@@ -0,0 +1,52 @@
+package com.library.management.lmsv1.benchmark;
+
+import com.library.management.lmsv1.Lmsv1Application;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookImportResultDto;
+import com.library.management.lmsv1.book.service.BookImportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/** Boots the application without a web server against a private in-memory H2 database. */
+final class BenchmarkSupport {
+
+    static final int AUTHORS = 200;
+    static final LocalDate FIRST_PUBLISHED = LocalDate.of(1950, 1, 1);
+
+    private BenchmarkSupport() {}
+
+    static ConfigurableApplicationContext startApplication(String databaseName, String... properties) {
+        return new SpringApplicationBuilder(Lmsv1Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /** Loads {@code rows} synthetic books through the bulk import path. */
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        BookImportService importService = context.getBean(BookImportService.class);
+        StringBuilder ndjson = new StringBuilder(rows * 120);
+        for (int i = 0; i < rows; i++) {
+            ndjson.append("{\"title\":\"Title ").append(i)
+                    .append("\",\"author\":\"Author ").append(i % AUTHORS)
+                    .append("\",\"isbn\":\"BENCH-").append(i)
+                    .append("\",\"publishedDate\":\"").append(FIRST_PUBLISHED.plusDays(i % 25_000))
+                    .append("\",\"status\":\"").append(i % 3 == 0 ? BookStatus.BORROWED : BookStatus.AVAILABLE)
+                    .append("\"}\n");
+        }
+        BookImportResultDto result = importService.importBooks(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), 1000);
+        if (result.getImported() != rows) {
+            throw new IllegalStateException("Seeding imported " + result.getImported() + " of " + rows + " rows");
+        }
+    }
+}
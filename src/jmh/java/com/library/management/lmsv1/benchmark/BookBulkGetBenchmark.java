@@ -0,0 +1,101 @@
+package com.library.management.lmsv1.benchmark;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.dto.BookBulkGetResultDto;
+import com.library.management.lmsv1.book.dto.BookBulkRequestDto;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import com.library.management.lmsv1.book.service.BookBulkService;
+import com.library.management.lmsv1.book.service.BookService;
+import com.library.management.lmsv1.common.CacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A shelf of {@code shelfSize} books that are not in the cache, fetched one lookup at a time as the
+ * front end used to, and with one bulk get. JMH reports the statements ({@link StatementCounter}, one
+ * operation per shelf).
+ * Statements are delayed by {@code dbLatencyMicros} ({@link LatencyStatementInspector}) to stand in
+ * for the round trip to a real database; the HTTP round trips saved come on top and are not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookBulkGetBenchmark {
+
+    @Param({"50", "100"})
+    public int shelfSize;
+
+    @Param({"0", "1000"})
+    public long dbLatencyMicros;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private BookBulkService bookBulkService;
+    private Cache booksById;
+    private Statistics statistics;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication("bench-bulk-get-" + shelfSize + "-" + dbLatencyMicros,
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + LatencyStatementInspector.class.getName());
+        BenchmarkSupport.seed(context, 10_000);
+        bookService = context.getBean(BookService.class);
+        bookBulkService = context.getBean(BookBulkService.class);
+        booksById = context.getBean(CacheManager.class).getCache(CacheConfig.BOOKS);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        ids = context.getBean(BookRepository.class).findAll(Sort.by("id")).stream().mapToLong(Book::getId).toArray();
+        LatencyStatementInspector.latencyNanos = TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LatencyStatementInspector.latencyNanos = 0;
+        context.close();
+    }
+
+    @Benchmark
+    public void oneByOne(Blackhole blackhole, StatementCounter counter) {
+        List<Long> shelf = nextShelf();
+        long mark = StatementCounter.mark(statistics);
+        for (Long id : shelf) {
+            blackhole.consume(bookService.findById(id));
+        }
+        counter.record(statistics, mark, 1);
+    }
+
+    @Benchmark
+    public BookBulkGetResultDto bulkGet(StatementCounter counter) {
+        BookBulkRequestDto request = new BookBulkRequestDto(nextShelf(), List.of(), null);
+        long mark = StatementCounter.mark(statistics);
+        BookBulkGetResultDto result = bookBulkService.get(request);
+        counter.record(statistics, mark, 1);
+        return result;
+    }
+
+    // A different run of books each time, evicted so that both variants go to the database
+    private List<Long> nextShelf() {
+        List<Long> shelf = new ArrayList<>(shelfSize);
+        for (int i = 0; i < shelfSize; i++) {
+            long id = ids[next++ % ids.length];
+            booksById.evict(id);
+            shelf.add(id);
+        }
+        return shelf;
+    }
+}
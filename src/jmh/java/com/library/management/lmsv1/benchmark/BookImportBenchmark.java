@@ -0,0 +1,96 @@
+package com.library.management.lmsv1.benchmark;
+
+import com.library.management.lmsv1.book.dto.BookImportResultDto;
+import com.library.management.lmsv1.book.service.BookImportService;
+import com.library.management.lmsv1.book.service.BookIsbnFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import of new books into a populated catalog, with and without the ISBN Bloom filter in
+ * front of the per-batch existence check. Throughput is in rows; JMH reports the statements
+ * ({@link StatementCounter}, one operation per batch). The check is one statement per batch, so it
+ * matters most for small batches. Statements are delayed by {@code dbLatencyMicros}
+ * ({@link LatencyStatementInspector}) to stand in for the round trip to a real database, which is
+ * what a check the filter rules out saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookImportBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"100000"})
+    public int catalogSize;
+
+    // Rows per transaction, and so per existence check
+    @Param({"10", "1000"})
+    public int batchSize;
+
+    @Param({"true", "false"})
+    public boolean isbnFilter;
+
+    @Param({"0", "1000"})
+    public long dbLatencyMicros;
+
+    private ConfigurableApplicationContext context;
+    private BookImportService importService;
+    private Statistics statistics;
+    private long seq;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication("bench-import-" + batchSize + "-" + isbnFilter + "-" + dbLatencyMicros,
+                "lms.isbn-filter.enabled=" + isbnFilter,
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + LatencyStatementInspector.class.getName());
+        BenchmarkSupport.seed(context, catalogSize);
+        importService = context.getBean(BookImportService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        LatencyStatementInspector.latencyNanos = TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros);
+        if (isbnFilter) {
+            // Seeding ran after startup, so build again to cover it as a running service would have
+            context.getBean(BookIsbnFilter.class).rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LatencyStatementInspector.latencyNanos = 0;
+        context.close();
+    }
+
+    // Building the next payload is not part of the import
+    @Setup(Level.Invocation)
+    public void nextPayload() {
+        StringBuilder ndjson = new StringBuilder(ROWS * 120);
+        for (int i = 0; i < ROWS; i++) {
+            long n = seq++;
+            ndjson.append("{\"title\":\"Imported ").append(n)
+                    .append("\",\"author\":\"Author ").append(n % BenchmarkSupport.AUTHORS)
+                    .append("\",\"isbn\":\"IMPORT-").append(n)
+                    .append("\",\"publishedDate\":\"2020-01-01\"}\n");
+        }
+        payload = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BookImportResultDto importNewBooks(StatementCounter counter) {
+        long mark = StatementCounter.mark(statistics);
+        BookImportResultDto result = importService.importBooks(new ByteArrayInputStream(payload), batchSize);
+        counter.record(statistics, mark, ROWS / batchSize);
+        return result;
+    }
+}
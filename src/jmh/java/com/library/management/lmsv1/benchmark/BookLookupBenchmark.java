@@ -0,0 +1,94 @@
+package com.library.management.lmsv1.benchmark;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import com.library.management.lmsv1.book.service.BookService;
+import com.library.management.lmsv1.common.CacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code concurrency} simultaneous lookups of one book that has just dropped out of the
+ * cache, as when a trending title is evicted. JMH reports the database queries ({@link StatementCounter},
+ * one operation per burst); with lookups coalesced there is about one per burst however many callers
+ * arrive together. Statements are
+ * delayed by {@code dbLatencyMicros} ({@link LatencyStatementInspector}) so that, as against a real
+ * database, the callers arrive while the first query is still out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookLookupBenchmark {
+
+    @Param({"1", "16", "64", "256"})
+    public int concurrency;
+
+    @Param({"1000"})
+    public long dbLatencyMicros;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private Cache booksById;
+    private Statistics statistics;
+    private ExecutorService callers;
+    private long[] ids;
+    private long bursts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication("bench-lookup-" + concurrency,
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + LatencyStatementInspector.class.getName());
+        BenchmarkSupport.seed(context, 1000);
+        bookService = context.getBean(BookService.class);
+        booksById = context.getBean(CacheManager.class).getCache(CacheConfig.BOOKS);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        ids = context.getBean(BookRepository.class).findAll(Sort.by("id")).stream().mapToLong(Book::getId).toArray();
+        callers = Executors.newVirtualThreadPerTaskExecutor();
+        LatencyStatementInspector.latencyNanos = TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LatencyStatementInspector.latencyNanos = 0;
+        callers.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void sameBookBurst(StatementCounter counter) throws Exception {
+        bursts++;
+        long id = ids[(int) (bursts % ids.length)];
+        booksById.evict(id);
+        long mark = StatementCounter.mark(statistics);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> calls = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            calls.add(callers.submit(() -> {
+                start.await();
+                return bookService.findById(id);
+            }));
+        }
+        start.countDown();
+        for (Future<?> call : calls) {
+            call.get();
+        }
+        counter.record(statistics, mark, 1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.library.management.lmsv1.benchmark;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.service.BookMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMappingBenchmark {
+
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        book = new Book("Effective Java", "Joshua Bloch", "9780134685991", LocalDate.of(2018, 1, 6), BookStatus.AVAILABLE);
+        book.setId(42L);
+        book.setVersion(3L);
+    }
+
+    @Benchmark
+    public BookResponseDto mapToResponse() {
+        return BookMapper.mapToResponse(book);
+    }
+}
@@ -0,0 +1,75 @@
+package com.library.management.lmsv1.benchmark;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.BookSearchHitDto;
+import com.library.management.lmsv1.book.search.BookSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSearchBenchmark {
+
+    private static final String[] WORDS = {"java", "pattern", "design", "clean", "domain", "refactoring", "effective",
+            "concurrency", "practice", "algorithm", "system", "distributed", "database", "network", "compiler", "history"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private BookSearchIndex index;
+    private String authorQuery;
+    private String titlePrefixQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new BookSearchIndex();
+        SplittableRandom rnd = new SplittableRandom(42);
+        String[] authors = new String[catalogSize / 20 + 1];
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = word(rnd) + " " + word(rnd);
+        }
+        for (long id = 1; id <= catalogSize; id++) {
+            String rare = word(rnd);
+            String title = WORDS[rnd.nextInt(WORDS.length)] + " " + rare + " " + WORDS[rnd.nextInt(WORDS.length)];
+            index.put(new BookResponseDto(id, title, authors[rnd.nextInt(authors.length)], "ISBN" + id,
+                    LocalDate.of(2000, 1, 1), BookStatus.AVAILABLE, 0L));
+            if (id == catalogSize / 2) {
+                titlePrefixQuery = title.substring(0, title.indexOf(' ')) + " " + rare.substring(0, 4);
+            }
+        }
+        authorQuery = authors[17];
+    }
+
+    // Roughly twenty books by one author, matched on full first and last name
+    @Benchmark
+    public List<BookSearchHitDto> author() {
+        return index.search(authorQuery, 20);
+    }
+
+    // A common title word plus a four-letter prefix of a rarer one, as typed into a search box
+    @Benchmark
+    public List<BookSearchHitDto> titlePrefix() {
+        return index.search(titlePrefixQuery, 20);
+    }
+
+    // A single common word: cost follows the number of matches, not the catalog alone
+    @Benchmark
+    public List<BookSearchHitDto> commonWord() {
+        return index.search("design", 20);
+    }
+
+    private static String word(SplittableRandom rnd) {
+        char[] letters = new char[6 + rnd.nextInt(4)];
+        for (int i = 0; i < letters.length; i++) letters[i] = (char) ('a' + rnd.nextInt(26));
+        return new String(letters);
+    }
+}
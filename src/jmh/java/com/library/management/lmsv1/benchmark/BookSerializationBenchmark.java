@@ -0,0 +1,85 @@
+package com.library.management.lmsv1.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookPageResponseDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding of list pages in each negotiable format, using the same ObjectMapper builders Spring MVC
+ * applies to its converters. {@code json-gzip} adds the response compression the server applies
+ * above its size threshold. The encoded size is reported by JMH as the secondary results
+ * {@code :bytes} and {@code :pages}, totals over the measurement iterations whose ratio is the size
+ * of one page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSerializationBenchmark {
+
+    @Param({"10", "50", "500"})
+    public int pageSize;
+
+    @Param({"json", "cbor", "smile", "json-gzip"})
+    public String format;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long bytes;
+        public long pages;
+    }
+
+    private ObjectWriter writer;
+    private boolean gzip;
+    private BookPageResponseDto page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        writer = objectMapper.writerFor(BookPageResponseDto.class);
+        gzip = format.endsWith("-gzip");
+        List<BookResponseDto> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            items.add(new BookResponseDto((long) i, "Title " + i, "Author " + (i % 20), "978000000" + i,
+                    LocalDate.of(2000, 1, 1).plusDays(i), i % 3 == 0 ? BookStatus.BORROWED : BookStatus.AVAILABLE, 1L));
+        }
+        page = new BookPageResponseDto(items, "NTAw");
+    }
+
+    @Benchmark
+    public byte[] serializePage(EncodedSize size) throws IOException {
+        byte[] encoded = encode();
+        size.bytes += encoded.length;
+        size.pages++;
+        return encoded;
+    }
+
+    private byte[] encode() throws IOException {
+        byte[] encoded = writer.writeValueAsBytes(page);
+        if (!gzip) return encoded;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length / 4);
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            compressed.write(encoded);
+        }
+        return out.toByteArray();
+    }
+}
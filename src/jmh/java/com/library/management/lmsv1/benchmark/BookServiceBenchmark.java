@@ -0,0 +1,80 @@
+package com.library.management.lmsv1.benchmark;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookPageResponseDto;
+import com.library.management.lmsv1.book.dto.BookRequestDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/** Service-level reads and writes against H2 at several catalog sizes. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private long createSeq;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication("bench-service-" + catalogSize);
+        BenchmarkSupport.seed(context, catalogSize);
+        bookService = context.getBean(BookService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookPageResponseDto findAllByAuthor() {
+        return bookService.findAll("author 7", null, null, 50);
+    }
+
+    @Benchmark
+    public BookPageResponseDto findAllByAuthorAndStatus() {
+        return bookService.findAll("Author 7", BookStatus.BORROWED, null, 50);
+    }
+
+    @Benchmark
+    public BookPageResponseDto findAllByStatus() {
+        return bookService.findAll(null, BookStatus.AVAILABLE, null, 50);
+    }
+
+    // Largest allowed page: per-row mapping costs dominate over the query itself
+    @Benchmark
+    public BookPageResponseDto findAllMaxPage() {
+        return bookService.findAll(null, null, null, 500);
+    }
+
+    @Benchmark
+    public BookPageResponseDto findPublishedAfter() {
+        return bookService.findPublishedAfter(LocalDate.of(2000, 1, 1), null, null, null, 50);
+    }
+
+    @Benchmark
+    public BookPageResponseDto findPublishedBetweenWithStatus() {
+        return bookService.findPublishedAfter(LocalDate.of(1980, 1, 1), LocalDate.of(1990, 1, 1),
+                BookStatus.AVAILABLE, null, 50);
+    }
+
+    @Benchmark
+    public BookResponseDto create() {
+        long n = createSeq++;
+        return bookService.create(new BookRequestDto("Bench " + n, "Author " + (n % BenchmarkSupport.AUTHORS),
+                "CREATE-" + catalogSize + "-" + n, LocalDate.of(2020, 1, 1), BookStatus.AVAILABLE));
+    }
+}
@@ -0,0 +1,97 @@
+package com.library.management.lmsv1.benchmark;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookRequestDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import com.library.management.lmsv1.book.service.BookService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-book writes through the service. Besides latency, JMH reports the JDBC statements Hibernate
+ * prepared ({@link StatementCounter}, one operation per write), which is the number of database round
+ * trips a write costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookWriteBenchmark {
+
+    @Param({"10000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private Statistics statistics;
+    private long[] ids;
+    private long seq;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication("bench-write-" + catalogSize);
+        BenchmarkSupport.seed(context, catalogSize);
+        bookService = context.getBean(BookService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        ids = context.getBean(BookRepository.class).findAll(Sort.by("id")).stream().mapToLong(Book::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookResponseDto create(StatementCounter counter) {
+        long mark = StatementCounter.mark(statistics);
+        BookResponseDto created = bookService.create(newBook());
+        counter.record(statistics, mark, 1);
+        return created;
+    }
+
+    @Benchmark
+    public BookResponseDto updateTitle(StatementCounter counter) {
+        PutCallBookRequestDto change = new PutCallBookRequestDto();
+        change.setTitle("Retitled " + seq);
+        long mark = StatementCounter.mark(statistics);
+        BookResponseDto updated = bookService.update(ids[(int) (seq++ % ids.length)], change, null);
+        counter.record(statistics, mark, 1);
+        return updated;
+    }
+
+    @Benchmark
+    public BookResponseDto updateIsbn(StatementCounter counter) {
+        PutCallBookRequestDto change = new PutCallBookRequestDto();
+        change.setIsbn("MOVED-" + catalogSize + "-" + seq);
+        long mark = StatementCounter.mark(statistics);
+        BookResponseDto updated = bookService.update(ids[(int) (seq++ % ids.length)], change, null);
+        counter.record(statistics, mark, 1);
+        return updated;
+    }
+
+    // Deletes need a fresh row each time; subtract the create figures to isolate the delete
+    @Benchmark
+    public void createThenDelete(StatementCounter counter) {
+        long mark = StatementCounter.mark(statistics);
+        bookService.delete(bookService.create(newBook()).getId());
+        counter.record(statistics, mark, 1);
+    }
+
+    private BookRequestDto newBook() {
+        long n = seq++;
+        return new BookRequestDto("Bench " + n, "Author " + (n % BenchmarkSupport.AUTHORS),
+                "WRITE-" + catalogSize + "-" + n, LocalDate.of(2020, 1, 1), BookStatus.AVAILABLE);
+    }
+}
@@ -0,0 +1,22 @@
+package com.library.management.lmsv1.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Adds a fixed delay before every statement Hibernate prepares, standing in for the network round
+ * trip to a real database that in-memory H2 does not have. Off (zero) until a benchmark sets it.
+ */
+public class LatencyStatementInspector implements StatementInspector {
+
+    static volatile long latencyNanos;
+
+    @Override
+    public String inspect(String sql) {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        return sql;
+    }
+}
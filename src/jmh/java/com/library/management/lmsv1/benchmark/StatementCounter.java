@@ -0,0 +1,30 @@
+package com.library.management.lmsv1.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JDBC statements Hibernate prepared, reported by JMH as the secondary results {@code :statements}
+ * and {@code :operations} (in the summary table and {@code secondaryMetrics} of jmh-result.json).
+ * JMH sums events over the measurement iterations, so both are totals; statements per operation is
+ * their ratio. What an operation is (a write, a burst, a batch, a shelf) is up to the benchmark.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class StatementCounter {
+
+    public long statements;
+    public long operations;
+
+    /** The statement count to pass to {@link #record} once the measured work is done. */
+    static long mark(Statistics statistics) {
+        return statistics.getPrepareStatementCount();
+    }
+
+    void record(Statistics statistics, long mark, long operations) {
+        this.statements += statistics.getPrepareStatementCount() - mark;
+        this.operations += operations;
+    }
+}
@@ -3,13 +3,24 @@ package com.library.management.lmsv1.book;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDate;
+import java.util.Locale;
 
 @Entity
-@Table(name = "books", uniqueConstraints = {@UniqueConstraint(name = "uk_books_isbn", columnNames = "isbn")})
+@Table(name = "books",
+        uniqueConstraints = {@UniqueConstraint(name = "uk_books_isbn", columnNames = "isbn")},
+        indexes = {
+                @Index(name = "idx_books_author_lower_status", columnList = "author_lower, status"),
+                @Index(name = "idx_books_status_id", columnList = "status, id"),
+                @Index(name = "idx_books_published_date_id", columnList = "published_date, id"),
+                @Index(name = "idx_books_status_published_date_id", columnList = "status, published_date, id")
+        })
 public class Book {
 
+    // Sequence ids (pooled optimizer, allocationSize > 1) keep Hibernate insert batching enabled;
+    // IDENTITY forces one round trip per insert to read the generated key.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -20,6 +31,10 @@ public class Book {
     @NotBlank(message = "Author is required")
     private String author;
 
+    // Lower-cased copy of author so case-insensitive lookups can use a plain index
+    @Column(name = "author_lower", nullable = false)
+    private String authorLower;
+
     @Column(length = 30, unique = true)
     private String isbn;
 
@@ -29,6 +44,10 @@ public class Book {
     @Column(nullable = false)
     private BookStatus status = BookStatus.AVAILABLE;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Book() {}
 
     public Book(String title, String author, String isbn, LocalDate publishedDate, BookStatus status) {
@@ -39,6 +58,16 @@ public class Book {
         this.status = status == null ? BookStatus.AVAILABLE : status;
     }
 
+    @PrePersist
+    @PreUpdate
+    void normalize() {
+        this.authorLower = normalizeAuthor(author);
+    }
+
+    public static String normalizeAuthor(String author) {
+        return author == null ? null : author.toLowerCase(Locale.ROOT);
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -48,6 +77,8 @@ public class Book {
     public String getAuthor() { return author; }
     public void setAuthor(String author) { this.author = author; }
 
+    public String getAuthorLower() { return authorLower; }
+
     public String getIsbn() { return isbn; }
     public void setIsbn(String isbn) { this.isbn = isbn; }
 
@@ -56,5 +87,8 @@ public class Book {
 
     public BookStatus getStatus() { return status; }
     public void setStatus(BookStatus status) { this.status = status; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
 
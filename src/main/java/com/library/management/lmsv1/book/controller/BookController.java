@@ -1,27 +1,71 @@
 package com.library.management.lmsv1.book.controller;
 
 import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookBulkGetResultDto;
+import com.library.management.lmsv1.book.dto.BookBulkRequestDto;
+import com.library.management.lmsv1.book.dto.BookBulkResultDto;
+import com.library.management.lmsv1.book.dto.BookFacetsDto;
+import com.library.management.lmsv1.book.dto.BookImportResultDto;
+import com.library.management.lmsv1.book.dto.BookPageResponseDto;
 import com.library.management.lmsv1.book.dto.BookRequestDto;
 import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.BookSearchHitDto;
 import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
+import com.library.management.lmsv1.book.feed.BookChangeFeed;
+import com.library.management.lmsv1.book.service.BookBulkService;
+import com.library.management.lmsv1.book.service.BookChangeFeedService;
+import com.library.management.lmsv1.book.service.BookExportFormat;
+import com.library.management.lmsv1.book.service.BookExportService;
+import com.library.management.lmsv1.book.service.BookFacetService;
+import com.library.management.lmsv1.book.service.BookImportService;
+import com.library.management.lmsv1.book.service.BookSearchService;
 import com.library.management.lmsv1.book.service.BookService;
+import com.library.management.lmsv1.common.Admission;
+import com.library.management.lmsv1.common.AdmissionClass;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/v1/books")
 public class BookController {
 
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final String DEFAULT_SEARCH_LIMIT = "20";
+    private static final String DEFAULT_TOP_AUTHORS = "20";
+
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookSearchService bookSearchService;
+    private final BookFacetService bookFacetService;
+    private final BookBulkService bookBulkService;
+    private final BookChangeFeedService bookChangeFeedService;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookImportService bookImportService,
+                          BookExportService bookExportService, BookSearchService bookSearchService,
+                          BookFacetService bookFacetService, BookBulkService bookBulkService,
+                          BookChangeFeedService bookChangeFeedService) {
         this.bookService = bookService;
+        this.bookImportService = bookImportService;
+        this.bookExportService = bookExportService;
+        this.bookSearchService = bookSearchService;
+        this.bookFacetService = bookFacetService;
+        this.bookBulkService = bookBulkService;
+        this.bookChangeFeedService = bookChangeFeedService;
     }
 
     @PostMapping
@@ -32,22 +76,116 @@ public class BookController {
         return ResponseEntity.created(location).body(created);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BookImportResultDto> importBooks(@RequestParam(required = false) Integer batchSize,
+                                                           InputStream body) {
+        return ResponseEntity.ok(bookImportService.importBooks(body, batchSize));
+    }
+
+    @PostMapping("/bulk/status")
+    public ResponseEntity<BookBulkResultDto> bulkStatus(@RequestBody BookBulkRequestDto requestDto) {
+        return ResponseEntity.ok(bookBulkService.updateStatus(requestDto));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BookBulkResultDto> bulkDelete(@RequestBody BookBulkRequestDto requestDto) {
+        return ResponseEntity.ok(bookBulkService.delete(requestDto));
+    }
+
+    // A read sent as POST so a shelf of ISBNs need not fit in a URL; admitted like the other multi-book reads
+    @PostMapping("/bulk/get")
+    @Admission(AdmissionClass.SCAN)
+    public ResponseEntity<BookBulkGetResultDto> bulkGet(@RequestBody BookBulkRequestDto requestDto) {
+        return ResponseEntity.ok(bookBulkService.get(requestDto));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        BookExportFormat exportFormat = BookExportFormat.fromParam(format);
+        StreamingResponseBody body = out -> bookExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=books." + exportFormat.name().toLowerCase(Locale.ROOT))
+                .body(body);
+    }
+
     @GetMapping
-    public ResponseEntity<List<BookResponseDto>> findAll(
+    public ResponseEntity<BookPageResponseDto> findAll(
             @RequestParam(required = false) String author,
-            @RequestParam(required = false) BookStatus status) {
-        return ResponseEntity.ok(bookService.findAll(author, status));
+            @RequestParam(required = false) BookStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return page(bookService.findAll(author, status, cursor, limit), ifNoneMatch);
+    }
+
+    // Resume point: the after parameter, or the Last-Event-ID an EventSource sends when it reconnects
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Admission(value = AdmissionClass.SCAN, longLived = true)
+    public SseEmitter changes(@RequestParam(required = false) Long after,
+                              @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        BookChangeFeed.Subscription subscription =
+                bookChangeFeedService.subscribe(after != null ? after : lastEventId, new SseChangeSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<BookSearchHitDto>> search(@RequestParam String q,
+                                                         @RequestParam(defaultValue = DEFAULT_SEARCH_LIMIT) int limit) {
+        return ResponseEntity.ok(bookSearchService.search(q, limit));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<BookFacetsDto> facets(@RequestParam(defaultValue = DEFAULT_TOP_AUTHORS) int topAuthors) {
+        return ResponseEntity.ok(bookFacetService.facets(topAuthors));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BookResponseDto> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(bookService.findById(id));
+    @Admission(AdmissionClass.LOOKUP)
+    public ResponseEntity<BookResponseDto> findById(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Revalidation only needs the version, which is cached and never hydrates the entity
+            String current = BookETags.forVersion(bookService.findVersion(id));
+            if (BookETags.matches(ifNoneMatch, current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+        }
+        BookResponseDto book = bookService.findById(id);
+        return ResponseEntity.ok().eTag(BookETags.forVersion(book.getVersion())).body(book);
+    }
+
+    @GetMapping("/isbn/{isbn}")
+    @Admission(AdmissionClass.LOOKUP)
+    public ResponseEntity<BookResponseDto> findByIsbn(@PathVariable String isbn) {
+        BookResponseDto book = bookService.findByIsbn(isbn);
+        return ResponseEntity.ok().eTag(BookETags.forVersion(book.getVersion())).body(book);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<BookResponseDto> update(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                   @Valid @RequestBody PutCallBookRequestDto requestDto) {
-        return ResponseEntity.ok(bookService.update(id, requestDto));
+        Long expectedVersion = ifMatch == null ? null : BookETags.versionOf(ifMatch);
+        BookResponseDto updated = bookService.update(id, requestDto, expectedVersion);
+        return ResponseEntity.ok().eTag(BookETags.forVersion(updated.getVersion())).body(updated);
+    }
+
+    @PostMapping("/{id}/checkout")
+    public ResponseEntity<BookResponseDto> checkout(@PathVariable Long id) {
+        BookResponseDto book = bookService.checkout(id);
+        return ResponseEntity.ok().eTag(BookETags.forVersion(book.getVersion())).body(book);
+    }
+
+    @PostMapping("/{id}/return")
+    public ResponseEntity<BookResponseDto> returnBook(@PathVariable Long id) {
+        BookResponseDto book = bookService.returnBook(id);
+        return ResponseEntity.ok().eTag(BookETags.forVersion(book.getVersion())).body(book);
     }
 
     @DeleteMapping("/{id}")
@@ -57,9 +195,23 @@ public class BookController {
     }
 
     @GetMapping("/published-after")
-    public ResponseEntity<List<BookResponseDto>> findPublishedAfter(@RequestParam("date") String dateStr) {
-        LocalDate date = LocalDate.parse(dateStr);
-        return ResponseEntity.ok(bookService.findPublishedAfter(date));
+    public ResponseEntity<BookPageResponseDto> findPublishedAfter(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestParam(required = false) BookStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return page(bookService.findPublishedAfter(date, before, status, cursor, limit), ifNoneMatch);
+    }
+
+    // The page still has to be read to compute its tag, but a match skips serialization and transfer
+    private ResponseEntity<BookPageResponseDto> page(BookPageResponseDto page, String ifNoneMatch) {
+        String etag = BookETags.forPage(page);
+        if (ifNoneMatch != null && BookETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(page);
     }
 }
 
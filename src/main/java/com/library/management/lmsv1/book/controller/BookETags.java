@@ -0,0 +1,60 @@
+package com.library.management.lmsv1.book.controller;
+
+import com.library.management.lmsv1.book.dto.BookPageResponseDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.exception.PreconditionFailedException;
+
+/**
+ * Entity tags for book resources. A single book's tag is its {@code @Version}, a strong validator;
+ * a page's tag is a weak hash over the ids and versions it contains, so it changes whenever any
+ * listed book does.
+ */
+final class BookETags {
+
+    private BookETags() {}
+
+    static String forVersion(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    static String forPage(BookPageResponseDto page) {
+        long hash = 17;
+        for (BookResponseDto book : page.getItems()) {
+            hash = 31 * hash + book.getId();
+            hash = 31 * hash + (book.getVersion() == null ? 0 : book.getVersion());
+        }
+        hash = 31 * hash + (page.getNextCursor() == null ? 0 : page.getNextCursor().hashCode());
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /** Weak comparison of an If-None-Match header value (possibly a list, or *) against a tag. */
+    static boolean matches(String header, String etag) {
+        String target = opaque(etag);
+        for (String candidate : header.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || opaque(trimmed).equals(target)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Version named by an If-Match header, or null for {@code *}. If-Match uses strong comparison
+     * (RFC 9110 section 13.1.1), so a weak tag never matches and the request fails its precondition.
+     */
+    static Long versionOf(String ifMatch) {
+        String trimmed = ifMatch.trim();
+        if (trimmed.equals("*")) return null;
+        if (trimmed.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match requires a strong entity tag: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(trimmed.substring(1, trimmed.length() - 1));
+        } catch (RuntimeException e) {
+            throw new PreconditionFailedException("If-Match does not name a book version: " + ifMatch);
+        }
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,53 @@
+package com.library.management.lmsv1.book.controller;
+
+import com.library.management.lmsv1.book.dto.BookChangeDto;
+import com.library.management.lmsv1.book.feed.BookChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes change-feed entries as server-sent events. The event id is the sequence number, so a
+ * browser EventSource resumes on its own through the Last-Event-ID header after a reconnect.
+ */
+class SseChangeSink implements BookChangeFeed.Sink {
+
+    private final SseEmitter emitter;
+
+    SseChangeSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(BookChangeDto change) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(change.getSequence()))
+                .name(change.getType().name().toLowerCase(Locale.ROOT))
+                .data(change, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void reset(long sequence) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(sequence))
+                .name("reset")
+                .data(Map.of("sequence", sequence), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("keep-alive"));
+    }
+
+    @Override
+    public void close() {
+        try {
+            emitter.complete();
+        } catch (RuntimeException e) {
+            // Already completed by the container (client disconnect or timeout)
+        }
+    }
+}
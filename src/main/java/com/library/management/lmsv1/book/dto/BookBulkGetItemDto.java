@@ -0,0 +1,26 @@
+package com.library.management.lmsv1.book.dto;
+
+public class BookBulkGetItemDto {
+    private Long id;       // the requested id, or null when the key was an ISBN
+    private String isbn;   // the requested ISBN, or null when the key was an id
+    private BookBulkOutcome outcome; // FOUND or NOT_FOUND
+    private BookResponseDto book;    // null when not found
+
+    public BookBulkGetItemDto() {}
+
+    public BookBulkGetItemDto(Long id, String isbn, BookBulkOutcome outcome, BookResponseDto book) {
+        this.id = id;
+        this.isbn = isbn;
+        this.outcome = outcome;
+        this.book = book;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getIsbn() { return isbn; }
+    public void setIsbn(String isbn) { this.isbn = isbn; }
+    public BookBulkOutcome getOutcome() { return outcome; }
+    public void setOutcome(BookBulkOutcome outcome) { this.outcome = outcome; }
+    public BookResponseDto getBook() { return book; }
+    public void setBook(BookResponseDto book) { this.book = book; }
+}
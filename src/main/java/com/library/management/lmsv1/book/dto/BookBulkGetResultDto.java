@@ -0,0 +1,19 @@
+package com.library.management.lmsv1.book.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookBulkGetResultDto {
+    private int requested;
+    private int found;
+    private List<BookBulkGetItemDto> items = new ArrayList<>(); // one per requested key, in request order
+
+    public BookBulkGetResultDto() {}
+
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+    public int getFound() { return found; }
+    public void setFound(int found) { this.found = found; }
+    public List<BookBulkGetItemDto> getItems() { return items; }
+    public void setItems(List<BookBulkGetItemDto> items) { this.items = items; }
+}
@@ -0,0 +1,26 @@
+package com.library.management.lmsv1.book.dto;
+
+public class BookBulkItemDto {
+    private Long id;      // null when an ISBN was requested and no book has it
+    private String isbn;
+    private BookBulkOutcome outcome;
+    private Long version; // version after the change; null for deleted and missing books
+
+    public BookBulkItemDto() {}
+
+    public BookBulkItemDto(Long id, String isbn, BookBulkOutcome outcome, Long version) {
+        this.id = id;
+        this.isbn = isbn;
+        this.outcome = outcome;
+        this.version = version;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getIsbn() { return isbn; }
+    public void setIsbn(String isbn) { this.isbn = isbn; }
+    public BookBulkOutcome getOutcome() { return outcome; }
+    public void setOutcome(BookBulkOutcome outcome) { this.outcome = outcome; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -0,0 +1,9 @@
+package com.library.management.lmsv1.book.dto;
+
+public enum BookBulkOutcome {
+    UPDATED,
+    ALREADY_IN_STATE,
+    DELETED,
+    FOUND,
+    NOT_FOUND
+}
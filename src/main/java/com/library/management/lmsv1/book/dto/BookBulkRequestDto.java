@@ -0,0 +1,27 @@
+package com.library.management.lmsv1.book.dto;
+
+import com.library.management.lmsv1.book.BookStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookBulkRequestDto {
+    private List<Long> ids = new ArrayList<>();
+    private List<String> isbns = new ArrayList<>();
+    private BookStatus status; // target status; required for status changes, ignored for deletes
+
+    public BookBulkRequestDto() {}
+
+    public BookBulkRequestDto(List<Long> ids, List<String> isbns, BookStatus status) {
+        this.ids = ids;
+        this.isbns = isbns;
+        this.status = status;
+    }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+    public List<String> getIsbns() { return isbns; }
+    public void setIsbns(List<String> isbns) { this.isbns = isbns; }
+    public BookStatus getStatus() { return status; }
+    public void setStatus(BookStatus status) { this.status = status; }
+}
@@ -0,0 +1,19 @@
+package com.library.management.lmsv1.book.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookBulkResultDto {
+    private int requested;
+    private int changed;
+    private List<BookBulkItemDto> items = new ArrayList<>(); // one per requested key, in request order
+
+    public BookBulkResultDto() {}
+
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+    public int getChanged() { return changed; }
+    public void setChanged(int changed) { this.changed = changed; }
+    public List<BookBulkItemDto> getItems() { return items; }
+    public void setItems(List<BookBulkItemDto> items) { this.items = items; }
+}
@@ -0,0 +1,34 @@
+package com.library.management.lmsv1.book.dto;
+
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+
+import java.time.Instant;
+
+public class BookChangeDto {
+    private long sequence;
+    private BookChangedEvent.Type type;
+    private Long bookId;
+    private BookResponseDto book; // state after the change; for deletes, the book as it was
+    private Instant changedAt;
+
+    public BookChangeDto() {}
+
+    public BookChangeDto(long sequence, BookChangedEvent.Type type, Long bookId, BookResponseDto book, Instant changedAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.bookId = bookId;
+        this.book = book;
+        this.changedAt = changedAt;
+    }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    public BookChangedEvent.Type getType() { return type; }
+    public void setType(BookChangedEvent.Type type) { this.type = type; }
+    public Long getBookId() { return bookId; }
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+    public BookResponseDto getBook() { return book; }
+    public void setBook(BookResponseDto book) { this.book = book; }
+    public Instant getChangedAt() { return changedAt; }
+    public void setChangedAt(Instant changedAt) { this.changedAt = changedAt; }
+}
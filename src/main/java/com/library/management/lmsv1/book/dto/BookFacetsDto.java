@@ -0,0 +1,37 @@
+package com.library.management.lmsv1.book.dto;
+
+import com.library.management.lmsv1.book.BookStatus;
+
+import java.util.Map;
+
+public class BookFacetsDto {
+    public static final String UNKNOWN_YEAR = "unknown";
+
+    private long total;
+    private Map<BookStatus, Long> byStatus;
+    private Map<String, Long> byAuthor;          // most frequent authors first
+    private Map<String, Long> byPublicationYear; // ascending, UNKNOWN_YEAR for books without a date
+    private String source;                       // "counters" or "database"
+
+    public BookFacetsDto() {}
+
+    public BookFacetsDto(long total, Map<BookStatus, Long> byStatus, Map<String, Long> byAuthor,
+                         Map<String, Long> byPublicationYear, String source) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byAuthor = byAuthor;
+        this.byPublicationYear = byPublicationYear;
+        this.source = source;
+    }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    public Map<BookStatus, Long> getByStatus() { return byStatus; }
+    public void setByStatus(Map<BookStatus, Long> byStatus) { this.byStatus = byStatus; }
+    public Map<String, Long> getByAuthor() { return byAuthor; }
+    public void setByAuthor(Map<String, Long> byAuthor) { this.byAuthor = byAuthor; }
+    public Map<String, Long> getByPublicationYear() { return byPublicationYear; }
+    public void setByPublicationYear(Map<String, Long> byPublicationYear) { this.byPublicationYear = byPublicationYear; }
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+}
@@ -0,0 +1,22 @@
+package com.library.management.lmsv1.book.dto;
+
+public class BookImportFailureDto {
+    private long row; // 1-based position in the import payload
+    private String isbn;
+    private String message;
+
+    public BookImportFailureDto() {}
+
+    public BookImportFailureDto(long row, String isbn, String message) {
+        this.row = row;
+        this.isbn = isbn;
+        this.message = message;
+    }
+
+    public long getRow() { return row; }
+    public void setRow(long row) { this.row = row; }
+    public String getIsbn() { return isbn; }
+    public void setIsbn(String isbn) { this.isbn = isbn; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
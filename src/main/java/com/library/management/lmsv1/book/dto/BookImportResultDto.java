@@ -0,0 +1,25 @@
+package com.library.management.lmsv1.book.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookImportResultDto {
+    private long received;
+    private long imported;
+    private int batchSize;
+    private long elapsedMillis;
+    private List<BookImportFailureDto> failures = new ArrayList<>();
+
+    public BookImportResultDto() {}
+
+    public long getReceived() { return received; }
+    public void setReceived(long received) { this.received = received; }
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    public List<BookImportFailureDto> getFailures() { return failures; }
+    public void setFailures(List<BookImportFailureDto> failures) { this.failures = failures; }
+}
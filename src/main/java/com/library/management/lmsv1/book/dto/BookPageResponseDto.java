@@ -0,0 +1,20 @@
+package com.library.management.lmsv1.book.dto;
+
+import java.util.List;
+
+public class BookPageResponseDto {
+    private List<BookResponseDto> items;
+    private String nextCursor; // null when there are no more pages
+
+    public BookPageResponseDto() {}
+
+    public BookPageResponseDto(List<BookResponseDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BookResponseDto> getItems() { return items; }
+    public void setItems(List<BookResponseDto> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -2,13 +2,18 @@ package com.library.management.lmsv1.book.dto;
 
 import com.library.management.lmsv1.book.BookStatus;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
+// Sizes match the columns, so an over-long value is a 400 rather than a database constraint violation
 public class BookRequestDto {
     @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must be at most 255 characters")
     private String title;
     @NotBlank(message = "Author is required")
+    @Size(max = 255, message = "Author must be at most 255 characters")
     private String author;
+    @Size(max = 30, message = "ISBN must be at most 30 characters")
     private String isbn; // optional but unique if present
     private LocalDate publishedDate;
     private BookStatus status;
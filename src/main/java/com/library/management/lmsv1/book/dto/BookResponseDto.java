@@ -10,6 +10,7 @@ public class BookResponseDto {
     private String isbn;
     private LocalDate publishedDate;
     private BookStatus status;
+    private Long version;
 
     public BookResponseDto() {}
 
@@ -22,6 +23,12 @@ public class BookResponseDto {
         this.status = status;
     }
 
+    public BookResponseDto(Long id, String title, String author, String isbn, LocalDate publishedDate, BookStatus status,
+                           Long version) {
+        this(id, title, author, isbn, publishedDate, status);
+        this.version = version;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getTitle() { return title; }
@@ -34,5 +41,7 @@ public class BookResponseDto {
     public void setPublishedDate(LocalDate publishedDate) { this.publishedDate = publishedDate; }
     public BookStatus getStatus() { return status; }
     public void setStatus(BookStatus status) { this.status = status; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
 
@@ -0,0 +1,18 @@
+package com.library.management.lmsv1.book.dto;
+
+public class BookSearchHitDto {
+    private double score;
+    private BookResponseDto book;
+
+    public BookSearchHitDto() {}
+
+    public BookSearchHitDto(double score, BookResponseDto book) {
+        this.score = score;
+        this.book = book;
+    }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+    public BookResponseDto getBook() { return book; }
+    public void setBook(BookResponseDto book) { this.book = book; }
+}
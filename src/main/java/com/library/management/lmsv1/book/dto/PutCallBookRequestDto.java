@@ -1,12 +1,22 @@
 package com.library.management.lmsv1.book.dto;
 
 import com.library.management.lmsv1.book.BookStatus;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
 
+// Fields left null are unchanged. Those given must not be blank and must fit their columns: updates
+// are a native statement, so the entity's own @NotBlank is never checked, and an over-long value
+// would otherwise fail in the database as a constraint violation
 public class PutCallBookRequestDto {
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+    @Size(max = 255, message = "Title must be at most 255 characters")
     private String title;
+    @Pattern(regexp = "(?s).*\\S.*", message = "Author must not be blank")
+    @Size(max = 255, message = "Author must be at most 255 characters")
     private String author;
+    @Size(max = 30, message = "ISBN must be at most 30 characters")
     private String isbn; // optional but unique if present
     private LocalDate publishedDate;
     private BookStatus status;
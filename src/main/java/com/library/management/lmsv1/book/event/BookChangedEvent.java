@@ -0,0 +1,42 @@
+package com.library.management.lmsv1.book.event;
+
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+
+/**
+ * Published by the book service inside the writing transaction; listeners that must only see
+ * committed changes use {@code @TransactionalEventListener}. {@code before} is null for creates
+ * and {@code after} is null for deletes.
+ */
+public class BookChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long bookId;
+    private final BookResponseDto before;
+    private final BookResponseDto after;
+
+    public BookChangedEvent(Type type, Long bookId, BookResponseDto before, BookResponseDto after) {
+        this.type = type;
+        this.bookId = bookId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static BookChangedEvent created(BookResponseDto after) {
+        return new BookChangedEvent(Type.CREATED, after.getId(), null, after);
+    }
+
+    public static BookChangedEvent updated(BookResponseDto before, BookResponseDto after) {
+        return new BookChangedEvent(Type.UPDATED, after.getId(), before, after);
+    }
+
+    public static BookChangedEvent deleted(BookResponseDto before) {
+        return new BookChangedEvent(Type.DELETED, before.getId(), before, null);
+    }
+
+    public Type getType() { return type; }
+    public Long getBookId() { return bookId; }
+    public BookResponseDto getBefore() { return before; }
+    public BookResponseDto getAfter() { return after; }
+}
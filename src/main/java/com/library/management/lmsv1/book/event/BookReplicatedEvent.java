@@ -0,0 +1,19 @@
+package com.library.management.lmsv1.book.event;
+
+/**
+ * Published once a read replica has applied a committed change. Anything filled from replica reads
+ * in the meantime (the lookup cache) may hold the previous row and should be refreshed.
+ */
+public class BookReplicatedEvent {
+
+    private final String replica;
+    private final BookChangedEvent change;
+
+    public BookReplicatedEvent(String replica, BookChangedEvent change) {
+        this.replica = replica;
+        this.change = change;
+    }
+
+    public String getReplica() { return replica; }
+    public BookChangedEvent getChange() { return change; }
+}
@@ -1,6 +0,0 @@
-package com.library.management.lmsv1.book.exception;
-
-public class DuplicateResourceException extends RuntimeException {
-    public DuplicateResourceException(String message) { super(message); }
-}
-
@@ -0,0 +1,5 @@
+package com.library.management.lmsv1.book.exception;
+
+public class InvalidStatusTransitionException extends RuntimeException {
+    public InvalidStatusTransitionException(String message) { super(message); }
+}
@@ -0,0 +1,5 @@
+package com.library.management.lmsv1.book.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) { super(message); }
+}
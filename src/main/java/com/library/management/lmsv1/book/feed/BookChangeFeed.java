@@ -0,0 +1,247 @@
+package com.library.management.lmsv1.book.feed;
+
+import com.library.management.lmsv1.book.dto.BookChangeDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sequenced change log with a bounded replay buffer and push delivery to subscribers.
+ *
+ * <p>Every change gets the next sequence number and goes into a ring buffer of the last
+ * {@code bufferSize} changes, so a subscriber can resume after the last sequence it saw.
+ *
+ * <p>A transaction {@link #reserve reserves} its place before it commits, while it still holds its
+ * row locks, and {@link #publish publishes} its changes into that place once it has committed (or
+ * releases it on rollback). Changes are numbered and delivered in reservation order, so two writes
+ * to the same book come out in the order they committed however their after-commit work is
+ * scheduled; a place still held back delays the changes reserved after it. Numbering
+ * starts from the wall clock (microseconds since the epoch) rather than 1, so numbers keep
+ * increasing across restarts and an offset from before a restart is recognised as too old.
+ *
+ * <p>Appending never waits on a subscriber. Each subscriber has a bounded queue drained by its
+ * own (virtual) sender thread; a subscriber whose queue fills up is disconnected and has to
+ * reconnect from its last sequence, which costs it a replay or a reset but never slows writers
+ * or the other subscribers.
+ */
+public class BookChangeFeed {
+
+    /** Where a subscriber's changes are written, typically a server-sent events stream. */
+    public interface Sink {
+        void send(BookChangeDto change) throws IOException;
+
+        /** The requested offset is no longer buffered; changes up to and including {@code sequence} were missed. */
+        void reset(long sequence) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        /** Called once when the feed ends the subscription (slow subscriber or shutdown). */
+        void close();
+    }
+
+    /** Handle returned by {@link #subscribe}; cancel when the client goes away. */
+    public interface Subscription {
+        void cancel();
+    }
+
+    private static final BookChangeDto END = new BookChangeDto();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final BookChangeDto[] buffer;
+    private final int queueSize;
+    private final Duration heartbeat;
+    private final ThreadFactory senders;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final long firstSequence;
+    private long nextSequence;
+    private final Deque<Reservation> reserved = new ArrayDeque<>();
+
+    public BookChangeFeed(int bufferSize, int queueSize, Duration heartbeat) {
+        if (bufferSize < 1 || queueSize < 1) {
+            throw new IllegalArgumentException("buffer and queue sizes must be positive");
+        }
+        this.buffer = new BookChangeDto[bufferSize];
+        this.queueSize = queueSize;
+        this.heartbeat = heartbeat;
+        this.senders = Thread.ofVirtual().name("book-feed-", 0).factory();
+        this.firstSequence = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.nextSequence = firstSequence;
+    }
+
+    /** A place in the feed for one transaction's changes; see {@link #reserve}. */
+    public static final class Reservation {
+        private List<BookChangedEvent> events;
+    }
+
+    /** Takes the next place in the feed; changes published into it follow everything reserved before. */
+    public Reservation reserve() {
+        lock.lock();
+        try {
+            Reservation reservation = new Reservation();
+            reserved.add(reservation);
+            return reservation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fills {@code reservation} with committed changes (none to release it after a rollback) and
+     * delivers every filled place at the head of the feed.
+     */
+    public void publish(Reservation reservation, List<BookChangedEvent> events) {
+        lock.lock();
+        try {
+            reservation.events = List.copyOf(events);
+            while (!reserved.isEmpty() && reserved.peek().events != null) {
+                for (BookChangedEvent event : reserved.poll().events) {
+                    deliver(event);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Appends a change made outside any transaction, after everything already reserved. */
+    public void append(BookChangedEvent event) {
+        publish(reserve(), List.of(event));
+    }
+
+    private void deliver(BookChangedEvent event) {
+        BookResponseDto book = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        BookChangeDto change = new BookChangeDto(nextSequence, event.getType(), event.getBookId(), book, Instant.now());
+        buffer[slot(nextSequence)] = change;
+        nextSequence++;
+        // Offering under the lock keeps every subscriber's queue in sequence order
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(change)) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Starts delivering to {@code sink}: first the buffered changes after {@code after} (when given),
+     * then live changes. If {@code after} is older than the buffer, or not a sequence this feed
+     * issued, the sink is reset to the current position instead of replaying.
+     */
+    public Subscription subscribe(Long after, Sink sink) {
+        lock.lock();
+        try {
+            long last = nextSequence - 1;
+            long oldestBuffered = Math.max(last - buffer.length + 1, firstSequence);
+            List<BookChangeDto> replay = new ArrayList<>();
+            Long reset = null;
+            if (after != null) {
+                if (after < oldestBuffered - 1 || after > last) {
+                    reset = last;
+                } else {
+                    for (long seq = after + 1; seq <= last; seq++) {
+                        replay.add(buffer[slot(seq)]);
+                    }
+                }
+            }
+            Subscriber subscriber = new Subscriber(sink, replay, reset);
+            subscribers.add(subscriber);
+            senders.newThread(subscriber::run).start();
+            return subscriber::end;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /** Subscribers disconnected so far because they fell {@code queueSize} changes behind. */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /** Ends every subscription, e.g. on shutdown so open streams do not hold the server up. */
+    public void close() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.end();
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        dropped.incrementAndGet();
+        subscriber.end();
+    }
+
+    private int slot(long sequence) {
+        return (int) Math.floorMod(sequence, (long) buffer.length);
+    }
+
+    private final class Subscriber {
+        private final Sink sink;
+        private final List<BookChangeDto> replay;
+        private final Long reset;
+        private final BlockingQueue<BookChangeDto> queue;
+        private volatile boolean ended;
+
+        Subscriber(Sink sink, List<BookChangeDto> replay, Long reset) {
+            this.sink = sink;
+            this.replay = replay;
+            this.reset = reset;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        void run() {
+            try {
+                if (reset != null) sink.reset(reset);
+                for (BookChangeDto change : replay) {
+                    if (ended) break;
+                    sink.send(change);
+                }
+                while (!ended) {
+                    BookChangeDto change = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (ended || change == END) break;
+                    if (change == null) sink.heartbeat(); else sink.send(change);
+                }
+            } catch (IOException | RuntimeException e) {
+                // The client went away mid-write; nothing to tell it
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                subscribers.remove(this);
+                sink.close();
+            }
+        }
+
+        // Stop enqueueing at once and wake the sender; if it is blocked writing, it stops after that write
+        void end() {
+            ended = true;
+            subscribers.remove(this);
+            queue.clear();
+            queue.offer(END);
+        }
+    }
+}
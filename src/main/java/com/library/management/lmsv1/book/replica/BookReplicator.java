@@ -0,0 +1,221 @@
+package com.library.management.lmsv1.book.replica;
+
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.event.BookReplicatedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Simulates replication into plain H2 databases standing in for replicas; it uses H2-only statements
+ * ({@code SCRIPT NODATA}, {@code MERGE ... KEY}) and only runs with {@code lms.datasource.replica-simulation}, in place of
+ * {@link ReplicaHeartbeat}. Its queues are also where {@link ReplicaSet} gets each replica's lag and
+ * applied position.
+ *
+ * <p>Once the application is up, each replica gets a copy of the primary's schema and books, then
+ * applies every committed {@link BookChangedEvent} in commit order on its own thread. Applying a
+ * change re-reads the book's current row from the primary and upserts it (or deletes it if gone),
+ * so replaying a change, or applying one the initial copy already saw, is harmless. Changes are
+ * applied in batches of up to {@value #BATCH_SIZE} books, one primary query per batch.
+ * {@code delay} holds each change back to imitate replication lag.
+ */
+public class BookReplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(BookReplicator.class);
+
+    static final int BATCH_SIZE = 500;
+    private static final String COLUMNS = "id, title, author, author_lower, isbn, published_date, status, version";
+    private static final String INSERT = "insert into books (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String MERGE = "merge into books (" + COLUMNS + ") key (id) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ReplicaSet replicaSet;
+    private final NamedParameterJdbcTemplate primary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long delayNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Thread> appliers = new ArrayList<>();
+    private long lastPosition;
+    private volatile boolean running = true;
+
+    public BookReplicator(ReplicaSet replicaSet, ApplicationEventPublisher eventPublisher, Duration delay) {
+        this.replicaSet = replicaSet;
+        this.primary = new NamedParameterJdbcTemplate(replicaSet.primary());
+        this.primary.getJdbcTemplate().setFetchSize(BATCH_SIZE);
+        this.eventPublisher = eventPublisher;
+        this.delayNanos = delay.toNanos();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            // Numbered and queued under the lock so every replica sees the same order
+            long position = ++lastPosition;
+            for (Replica replica : replicaSet.replicas()) {
+                replica.pending.add(new Replica.Change(position, now, event));
+            }
+            replicaSet.recordWrite(position);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // After the runners, so seeded or generated books are in the initial copy. Changes committed
+    // from here on are already being queued
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (Replica replica : replicaSet.replicas()) {
+            appliers.add(Thread.ofPlatform().daemon().name(replica.name).start(() -> run(replica)));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        appliers.forEach(Thread::interrupt);
+    }
+
+    private void run(Replica replica) {
+        JdbcTemplate target = new JdbcTemplate(replica.dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(replica.dataSource));
+        try {
+            long start = System.nanoTime();
+            long copied = copy(target);
+            replica.ready = true;
+            log.info("Replica {} loaded {} books in {} ms", replica.name, copied, (System.nanoTime() - start) / 1_000_000);
+            List<Replica.Change> batch = new ArrayList<>(BATCH_SIZE);
+            while (running) {
+                Replica.Change head = replica.pending.poll(1, TimeUnit.SECONDS);
+                if (head == null) continue;
+                replica.applyingSinceNanos = head.committedAtNanos();
+                batch.add(head);
+                waitUntilDue(head);
+                Replica.Change next;
+                while (batch.size() < BATCH_SIZE && (next = replica.pending.peek()) != null && isDue(next)) {
+                    batch.add(replica.pending.poll());
+                }
+                applyWithRetry(replica, target, transaction, batch);
+                replica.appliedPosition = batch.get(batch.size() - 1).position();
+                replica.applyingSinceNanos = 0;
+                for (Replica.Change change : batch) {
+                    eventPublisher.publishEvent(new BookReplicatedEvent(replica.name, change.event()));
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Replica {} stopped; reads will stay on the primary", replica.name, e);
+            replica.ready = false;
+        }
+    }
+
+    private long copy(JdbcTemplate target) {
+        for (String statement : primary.getJdbcTemplate().queryForList("SCRIPT NODATA", String.class)) {
+            if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                target.execute(statement);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        long[] copied = {0};
+        primary.getJdbcTemplate().query("select " + COLUMNS + " from books", rs -> {
+            rows.add(row(rs));
+            if (rows.size() == BATCH_SIZE) {
+                target.batchUpdate(INSERT, rows);
+                copied[0] += rows.size();
+                rows.clear();
+            }
+        });
+        if (!rows.isEmpty()) {
+            target.batchUpdate(INSERT, rows);
+            copied[0] += rows.size();
+        }
+        return copied[0];
+    }
+
+    private void applyWithRetry(Replica replica, JdbcTemplate target, TransactionTemplate transaction,
+                                List<Replica.Change> batch) throws InterruptedException {
+        while (true) {
+            try {
+                apply(target, transaction, batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) throw e;
+                log.warn("Replica {} failed to apply {} changes; retrying", replica.name, batch.size(), e);
+                TimeUnit.SECONDS.sleep(1);
+            }
+        }
+    }
+
+    private void apply(JdbcTemplate target, TransactionTemplate transaction, List<Replica.Change> batch) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Replica.Change change : batch) {
+            ids.add(change.event().getBookId());
+        }
+        Map<Long, Object[]> current = new HashMap<>();
+        primary.query("select " + COLUMNS + " from books where id in (:ids)", Map.of("ids", ids), rs -> {
+            Object[] row = row(rs);
+            current.put((Long) row[0], row);
+        });
+        List<Object[]> upserts = new ArrayList<>(current.values());
+        List<Object[]> deletes = ids.stream().filter(id -> !current.containsKey(id)).map(id -> new Object[] {id}).toList();
+        try {
+            transaction.executeWithoutResult(tx -> {
+                target.batchUpdate(MERGE, upserts);
+                target.batchUpdate("delete from books where id = ?", deletes);
+            });
+        } catch (DuplicateKeyException e) {
+            // Another replica row still holds one of these ISBNs because its own change is further back
+            // in the queue. The primary's unique key says that row is stale, so drop it; its change
+            // will bring it back as it is now
+            transaction.executeWithoutResult(tx -> {
+                for (Object[] row : upserts) {
+                    target.update("delete from books where isbn = ? and id <> ?", row[4], row[0]);
+                    target.update(MERGE, row);
+                }
+                target.batchUpdate("delete from books where id = ?", deletes);
+            });
+        }
+    }
+
+    private boolean isDue(Replica.Change change) {
+        return System.nanoTime() - change.committedAtNanos() >= delayNanos;
+    }
+
+    private void waitUntilDue(Replica.Change change) throws InterruptedException {
+        long wait = change.committedAtNanos() + delayNanos - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private static Object[] row(ResultSet rs) throws SQLException {
+        Object[] row = new Object[8];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,57 @@
+package com.library.management.lmsv1.book.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a replica chosen by {@link ReplicaSet} and everything else to the
+ * primary. The choice is made when a connection is first taken, which behind a
+ * {@code LazyConnectionDataSourceProxy} is the first statement, or already while the transaction
+ * begins when something (such as the JDBC observation reading the connection URL) touches it early.
+ * Spring only flags the transaction read-only after it has begun, so {@link RoutingJpaTransactionManager}
+ * marks the thread for the duration of the begin.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> BEGINNING_READ_ONLY = new ThreadLocal<>();
+
+    private final ReplicaSet replicaSet;
+
+    ReadWriteRoutingDataSource(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaSet.PRIMARY, replicaSet.primary());
+        for (Replica replica : replicaSet.replicas()) {
+            targets.put(replica.name, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(replicaSet.primary());
+        afterPropertiesSet();
+    }
+
+    static void beginning(boolean readOnly) {
+        if (readOnly) BEGINNING_READ_ONLY.set(Boolean.TRUE); else BEGINNING_READ_ONLY.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = BEGINNING_READ_ONLY.get() != null || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly ? replicaSet.routeRead() : ReplicaSet.PRIMARY;
+    }
+
+    // Unwrapping (the pool metrics do it on every close) is not a read; answer from the primary so it
+    // neither counts as a routing decision nor depends on the current transaction
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : replicaSet.primary().unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || replicaSet.primary().isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,40 @@
+package com.library.management.lmsv1.book.replica;
+
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+
+import javax.sql.DataSource;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/** One read replica: its connection pool, the committed changes it has yet to apply, and how far it has got. */
+final class Replica {
+
+    /** A committed change, numbered in commit order. */
+    record Change(long position, long committedAtNanos, BookChangedEvent event) {}
+
+    final String name;
+    final DataSource dataSource;
+    final BlockingQueue<Change> pending = new LinkedBlockingQueue<>();
+    /** Set once the initial copy of the primary is in place; until then reads stay on the primary. */
+    volatile boolean ready;
+    /** Every change up to and including this position has been applied. */
+    volatile long appliedPosition;
+    /** Commit time of the oldest change taken off the queue but not yet applied, or 0. */
+    volatile long applyingSinceNanos;
+
+    Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    /** How long the oldest unapplied change has been committed on the primary; 0 when caught up. */
+    long lagNanos(long nowNanos) {
+        long oldest = applyingSinceNanos;
+        if (oldest == 0) {
+            Change head = pending.peek();
+            if (head == null) return 0;
+            oldest = head.committedAtNanos();
+        }
+        return Math.max(0, nowNanos - oldest);
+    }
+}
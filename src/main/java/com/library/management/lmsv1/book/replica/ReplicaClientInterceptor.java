@@ -0,0 +1,32 @@
+package com.library.management.lmsv1.book.replica;
+
+import com.library.management.lmsv1.common.ClientId;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/** Binds the calling client to the request thread so {@link ReplicaSet} can give it read-your-writes. */
+public class ReplicaClientInterceptor implements AsyncHandlerInterceptor {
+
+    private final ReplicaSet replicaSet;
+
+    public ReplicaClientInterceptor(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        replicaSet.bindClient(ClientId.of(request));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        replicaSet.unbindClient();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        replicaSet.unbindClient();
+    }
+}
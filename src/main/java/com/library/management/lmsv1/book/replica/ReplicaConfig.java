@@ -0,0 +1,91 @@
+package com.library.management.lmsv1.book.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source when {@code lms.datasource.replicas} lists replica URLs.
+ * The primary comes from {@code spring.datasource.*}; every pool, primary or replica, takes its
+ * settings from {@code spring.datasource.hikari.*} and reports under its own {@code pool} tag.
+ *
+ * <p>Replicas kept up to date by the database itself are tracked by {@link ReplicaHeartbeat}. With
+ * {@code lms.datasource.replica-simulation=true} the replicas are plain H2 databases instead, and
+ * {@link BookReplicator} copies the primary into them and tracks them.
+ */
+@Configuration
+@ConditionalOnProperty("lms.datasource.replicas")
+public class ReplicaConfig {
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties properties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${lms.datasource.replicas}") List<String> urls,
+                                 @Value("${lms.datasource.replica-max-lag:PT1S}") Duration maxLag) {
+        HikariDataSource primary = pool(properties, environment, meterRegistry, properties.determineUrl(), "primary");
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.add(new Replica(name, pool(properties, environment, meterRegistry, urls.get(i).trim(), name)));
+        }
+        return new ReplicaSet(primary, replicas, maxLag, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaSet replicaSet) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(replicaSet));
+    }
+
+    // Takes the place of Spring Boot's JPA transaction manager, with the same customizers applied
+    @Bean
+    public PlatformTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        RoutingJpaTransactionManager transactionManager = new RoutingJpaTransactionManager();
+        customizers.ifAvailable(c -> c.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty("lms.datasource.replica-simulation")
+    public BookReplicator bookReplicator(ReplicaSet replicaSet,
+                                         ApplicationEventPublisher eventPublisher,
+                                         @Value("${lms.datasource.replica-delay:PT0S}") Duration delay) {
+        return new BookReplicator(replicaSet, eventPublisher, delay);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "lms.datasource.replica-simulation", havingValue = "false", matchIfMissing = true)
+    public ReplicaHeartbeat replicaHeartbeat(ReplicaSet replicaSet,
+                                             ApplicationEventPublisher eventPublisher,
+                                             @Value("${lms.datasource.replica-heartbeat:PT0.1S}") Duration interval) {
+        return new ReplicaHeartbeat(replicaSet, eventPublisher, interval);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         MeterRegistry meterRegistry, String url, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
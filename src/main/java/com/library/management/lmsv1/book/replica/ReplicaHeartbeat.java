@@ -0,0 +1,150 @@
+package com.library.management.lmsv1.book.replica;
+
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.event.BookReplicatedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks replicas that the database replicates itself, such as streaming replicas, by writing a
+ * counter to the primary and reading it back from each replica. It runs whenever
+ * {@code lms.datasource.replica-simulation} is off.
+ *
+ * <p>Each instance owns one row of {@code replica_heartbeat}. While any ready replica has
+ * unapplied changes the row's beat is bumped every {@code interval}, one committed statement per bump; every
+ * {@code interval} each replica is asked for the beat it has. A replica without the row (or that
+ * cannot be reached) is not ready. Changes committed through the services are numbered with the
+ * first beat certain to be committed after them, so a replica that shows that beat has applied them,
+ * provided it applies the primary's commits in order as streaming replication does. Lag is the age
+ * of the oldest change the replica has not shown yet, so it reads up to two intervals high. Writes
+ * that bypass the services (SQL run by hand, another application) are not tracked.
+ */
+public class ReplicaHeartbeat {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHeartbeat.class);
+
+    private final ReplicaSet replicaSet;
+    private final JdbcTemplate primary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long intervalNanos;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ReentrantLock lock = new ReentrantLock();
+    private Thread beater;
+    // Latest beat known to be committed on the primary
+    private volatile long lastBeat;
+    private volatile boolean running = true;
+
+    public ReplicaHeartbeat(ReplicaSet replicaSet, ApplicationEventPublisher eventPublisher, Duration interval) {
+        this.replicaSet = replicaSet;
+        this.primary = new JdbcTemplate(replicaSet.primary());
+        this.eventPublisher = eventPublisher;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            // Read after the change committed: beat lastBeat + 1 may already be under way, but
+            // lastBeat + 2 is only written once this value has moved on, so it commits after the change
+            long position = lastBeat + 2;
+            for (Replica replica : replicaSet.replicas()) {
+                replica.pending.add(new Replica.Change(position, now, event));
+            }
+            replicaSet.recordWrite(position);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        primary.execute("create table if not exists replica_heartbeat (instance_id varchar(36) primary key, beat bigint not null)");
+        primary.update("insert into replica_heartbeat (instance_id, beat) values (?, 0)", instanceId);
+        beater = Thread.ofPlatform().daemon().name("replica-heartbeat").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (beater != null) beater.interrupt();
+        try {
+            primary.update("delete from replica_heartbeat where instance_id = ?", instanceId);
+        } catch (RuntimeException e) {
+            log.warn("Could not remove heartbeat row {}", instanceId, e);
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                long start = System.nanoTime();
+                // A replica that is down keeps its queue, but is no reason to keep writing to the primary
+                if (replicaSet.replicas().stream().anyMatch(r -> r.ready && !r.pending.isEmpty())) {
+                    beat();
+                }
+                for (Replica replica : replicaSet.replicas()) {
+                    check(replica);
+                }
+                long wait = start + intervalNanos - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void beat() {
+        try {
+            primary.update("update replica_heartbeat set beat = ? where instance_id = ?", lastBeat + 1, instanceId);
+            lastBeat++;
+        } catch (RuntimeException e) {
+            log.warn("Heartbeat write to the primary failed", e);
+        }
+    }
+
+    private void check(Replica replica) {
+        List<Long> beats;
+        try {
+            beats = new JdbcTemplate(replica.dataSource)
+                    .queryForList("select beat from replica_heartbeat where instance_id = ?", Long.class, instanceId);
+        } catch (RuntimeException e) {
+            if (replica.ready) {
+                log.warn("Replica {} is unreachable; reads will stay on the primary", replica.name, e);
+            }
+            replica.ready = false;
+            return;
+        }
+        if (beats.isEmpty()) {
+            replica.ready = false;
+            return;
+        }
+        long beat = beats.get(0);
+        // Position first, so a change is never off the queue while routing still counts it as unapplied
+        replica.appliedPosition = beat;
+        Replica.Change head;
+        while ((head = replica.pending.peek()) != null && head.position() <= beat) {
+            replica.pending.poll();
+            eventPublisher.publishEvent(new BookReplicatedEvent(replica.name, head.event()));
+        }
+        if (!replica.ready) {
+            log.info("Replica {} is up to beat {}", replica.name, beat);
+        }
+        replica.ready = true;
+    }
+}
@@ -0,0 +1,133 @@
+package com.library.management.lmsv1.book.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary and its read replicas, and the choice of where a read-only transaction runs.
+ *
+ * <p>Reads are spread round robin over replicas that are no more than {@code maxLag} behind the
+ * primary. A client that has written is kept off any replica that has not yet applied its latest
+ * write, so it always reads its own writes; the client is bound per request with
+ * {@link #bindClient}. When no replica qualifies the read falls back to the primary. Lag and
+ * applied positions come from {@link ReplicaHeartbeat}, or from {@link BookReplicator} when
+ * replication is simulated.
+ */
+public class ReplicaSet implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadLocal<String> client = new ThreadLocal<>();
+    // Position of each client's latest write; only needed until every replica has applied it
+    private final Cache<String, Long> clientWrites = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .maximumSize(100_000)
+            .build();
+    private final Map<String, Counter> routed = new HashMap<>();
+
+    ReplicaSet(DataSource primary, List<Replica> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagNanos = maxLag.toNanos();
+        for (Replica replica : replicas) {
+            routed.put(replica.name, routedCounter(meterRegistry, replica.name, "replica"));
+            Gauge.builder("db.replica.lag", replica, r -> r.lagNanos(System.nanoTime()) / 1e9)
+                    .description("Age of the oldest committed change the replica has not applied")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.pending", replica, r -> r.pending.size())
+                    .description("Committed changes queued for the replica")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        for (String reason : List.of("not_ready", "lagging", "own_write")) {
+            routed.put(reason, routedCounter(meterRegistry, PRIMARY, reason));
+        }
+    }
+
+    public void bindClient(String clientId) {
+        client.set(clientId);
+    }
+
+    public void unbindClient() {
+        client.remove();
+    }
+
+    DataSource primary() {
+        return primary;
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    /** Remembers that the bound client (if any) wrote the change at {@code position}. */
+    void recordWrite(long position) {
+        String clientId = client.get();
+        if (clientId != null) {
+            clientWrites.asMap().merge(clientId, position, Math::max);
+        }
+    }
+
+    /** The replica to run a read-only transaction on, or {@link #PRIMARY}. */
+    String routeRead() {
+        String clientId = client.get();
+        Long ownWrite = clientId == null ? null : clientWrites.getIfPresent(clientId);
+        long now = System.nanoTime();
+        boolean behindOwnWrite = false;
+        boolean lagging = false;
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.ready) continue;
+            if (ownWrite != null && replica.appliedPosition < ownWrite) {
+                behindOwnWrite = true;
+            } else if (replica.lagNanos(now) > maxLagNanos) {
+                lagging = true;
+            } else {
+                routed.get(replica.name).increment();
+                return replica.name;
+            }
+        }
+        routed.get(behindOwnWrite ? "own_write" : lagging ? "lagging" : "not_ready").increment();
+        return PRIMARY;
+    }
+
+    @Override
+    public void close() {
+        close(primary);
+        for (Replica replica : replicas) {
+            close(replica.dataSource);
+        }
+    }
+
+    private static void close(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource pool) {
+            pool.close();
+        }
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.reads.routed")
+                .description("Read-only transactions by the database they ran on")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.management.lmsv1.book.replica;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * JPA transaction manager that lets {@link ReadWriteRoutingDataSource} see a transaction's read-only
+ * flag while it is being begun, since Hibernate may take its connection before Spring records the flag.
+ */
+class RoutingJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReadWriteRoutingDataSource.beginning(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } finally {
+            ReadWriteRoutingDataSource.beginning(false);
+        }
+    }
+}
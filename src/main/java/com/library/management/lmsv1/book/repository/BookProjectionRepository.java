@@ -0,0 +1,18 @@
+package com.library.management.lmsv1.book.repository;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Specification queries that select columns straight into {@link BookResponseDto}. Rows never become
+ * managed entities, so reads skip entity instantiation, the persistence-context snapshot and dirty
+ * checking at flush.
+ */
+public interface BookProjectionRepository {
+
+    List<BookResponseDto> findResponses(Specification<Book> spec, Sort sort, int limit);
+}
@@ -0,0 +1,36 @@
+package com.library.management.lmsv1.book.repository;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class BookProjectionRepositoryImpl implements BookProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    BookProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<BookResponseDto> findResponses(Specification<Book> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookResponseDto> query = cb.createQuery(BookResponseDto.class);
+        Root<Book> book = query.from(Book.class);
+        query.select(cb.construct(BookResponseDto.class, book.get("id"), book.get("title"), book.get("author"),
+                book.get("isbn"), book.get("publishedDate"), book.get("status"), book.get("version")));
+        Predicate predicate = spec == null ? null : spec.toPredicate(book, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.orderBy(QueryUtils.toOrders(sort, book, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
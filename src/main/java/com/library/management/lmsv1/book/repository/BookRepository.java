@@ -2,15 +2,95 @@ package com.library.management.lmsv1.book.repository;
 
 import com.library.management.lmsv1.book.Book;
 import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
-    Optional<Book> findByIsbn(String isbn);
-    boolean existsByIsbn(String isbn);
-    List<Book> findByAuthorIgnoreCase(String author);
-    List<Book> findByStatus(BookStatus status);
-}
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookProjectionRepository, BookWriteRepository {
+
+    String RESPONSE_COLUMNS = "new com.library.management.lmsv1.book.dto.BookResponseDto("
+            + "b.id, b.title, b.author, b.isbn, b.publishedDate, b.status, b.version)";
+
+    // Read-only lookups projected straight into the response shape; no managed entity is created
+    @Query("select " + RESPONSE_COLUMNS + " from Book b where b.id = :id")
+    Optional<BookResponseDto> findResponseById(@Param("id") Long id);
+
+    @Query("select " + RESPONSE_COLUMNS + " from Book b where b.isbn = :isbn")
+    Optional<BookResponseDto> findResponseByIsbn(@Param("isbn") String isbn);
+
+    @Query("select b.version from Book b where b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select b.isbn from Book b where b.isbn in :isbns")
+    Set<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    // Compare-and-set on status: only one concurrent caller can match the "from" state
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.status = :to, b.version = b.version + 1 where b.id = :id and b.status = :from")
+    int transitionStatus(@Param("id") Long id, @Param("from") BookStatus from, @Param("to") BookStatus to);
+
+    // Bulk operations: lock the named rows (reading what the outcomes and change events need), then
+    // change them all with one statement. The lock keeps the outcomes true until commit. One query
+    // per key type, as for the batch lookups below, each locking in id order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select " + RESPONSE_COLUMNS + " from Book b where b.id in :ids order by b.id")
+    List<BookResponseDto> lockResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select " + RESPONSE_COLUMNS + " from Book b where b.isbn in :isbns order by b.id")
+    List<BookResponseDto> lockResponsesByIsbnIn(@Param("isbns") Collection<String> isbns);
 
+    // Batch lookups, one per key type: an OR of the two IN lists would keep H2 off both indexes (and
+    // under FOR UPDATE, scan and lock the whole ISBN index)
+    @Query("select " + RESPONSE_COLUMNS + " from Book b where b.id in :ids")
+    List<BookResponseDto> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select " + RESPONSE_COLUMNS + " from Book b where b.isbn in :isbns")
+    List<BookResponseDto> findResponsesByIsbnIn(@Param("isbns") Collection<String> isbns);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.status = :to, b.version = b.version + 1 where b.id in :ids and b.status <> :to")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("to") BookStatus to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Book b where b.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Facet counts: each row is {value, count}; the year is null for books without a published date
+    @Query("select b.status, count(b) from Book b group by b.status")
+    List<Object[]> countByStatus();
+
+    // Grouped like the author filter, case-insensitively: {authorLower, one spelling of it, count}
+    @Query("select b.authorLower, min(b.author), count(b) from Book b group by b.authorLower")
+    List<Object[]> countByAuthor();
+
+    @Query("select extract(year from b.publishedDate), count(b) from Book b group by extract(year from b.publishedDate)")
+    List<Object[]> countByPublicationYear();
+
+    // Forward-only cursor over the whole catalog; must be consumed (and closed) inside a transaction.
+    // Rows are projected, so the persistence context stays empty however large the catalog is
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select " + RESPONSE_COLUMNS + " from Book b order by b.id")
+    Stream<BookResponseDto> streamAllOrderedById();
+
+    // Every ISBN, for rebuilding the ISBN filter; same streaming rules as above
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.isbn from Book b where b.isbn is not null")
+    Stream<String> streamAllIsbns();
+}
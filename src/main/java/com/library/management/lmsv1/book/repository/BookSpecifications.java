@@ -0,0 +1,60 @@
+package com.library.management.lmsv1.book.repository;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Composable query predicates for {@link Book}. A null argument yields a null specification,
+ * which Spring Data drops from the composed query, so only the filters actually supplied
+ * end up in the generated SQL.
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {}
+
+    public static Specification<Book> filter(String author, BookStatus status) {
+        return Specification.where(hasAuthor(author)).and(hasStatus(status));
+    }
+
+    public static Specification<Book> hasAuthor(String author) {
+        if (author == null) return null;
+        String normalized = Book.normalizeAuthor(author);
+        return (root, query, cb) -> cb.equal(root.get("authorLower"), normalized);
+    }
+
+    public static Specification<Book> hasStatus(BookStatus status) {
+        if (status == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Book> publishedAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThan(root.get("publishedDate"), date);
+    }
+
+    public static Specification<Book> publishedBefore(LocalDate date) {
+        if (date == null) return null;
+        return (root, query, cb) -> cb.lessThan(root.get("publishedDate"), date);
+    }
+
+    /** Half-open publication window (after, before) with an optional status, e.g. for reporting ranges. */
+    public static Specification<Book> publishedBetween(LocalDate after, LocalDate before, BookStatus status) {
+        return Specification.where(publishedAfter(after)).and(publishedBefore(before)).and(hasStatus(status));
+    }
+
+    /** Seek predicate for keyset pagination ordered by id. */
+    public static Specification<Book> idAfter(Long id) {
+        if (id == null) return null;
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    /** Seek predicate for keyset pagination ordered by (publishedDate, id). */
+    public static Specification<Book> publishedDateIdAfter(LocalDate publishedDate, Long id) {
+        if (publishedDate == null) return null;
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("publishedDate"), publishedDate),
+                cb.and(cb.equal(root.get("publishedDate"), publishedDate), cb.greaterThan(root.get("id"), id)));
+    }
+}
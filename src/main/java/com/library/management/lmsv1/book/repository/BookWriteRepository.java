@@ -0,0 +1,19 @@
+package com.library.management.lmsv1.book.repository;
+
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
+
+import java.util.Optional;
+
+/**
+ * Single-statement writes that hand back the row as it was before the change, so a caller can
+ * publish before/after events without reading the row first. An empty result means no row
+ * matched: the book does not exist or, for a versioned update, its version has moved on.
+ */
+public interface BookWriteRepository {
+
+    /** Applies the non-null fields of {@code changes} and increments the version. */
+    Optional<BookResponseDto> updateReturningPrevious(Long id, PutCallBookRequestDto changes, Long expectedVersion);
+
+    Optional<BookResponseDto> deleteReturningPrevious(Long id);
+}
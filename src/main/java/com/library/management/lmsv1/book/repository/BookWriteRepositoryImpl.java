@@ -0,0 +1,80 @@
+package com.library.management.lmsv1.book.repository;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// H2's data change delta tables (SELECT ... FROM OLD TABLE (UPDATE|DELETE ...)) return the previous
+// row from the same statement; the PostgreSQL equivalent would be a RETURNING clause over a CTE
+class BookWriteRepositoryImpl implements BookWriteRepository {
+
+    private static final String COLUMNS = "id, title, author, isbn, published_date, status, version";
+
+    private final EntityManager entityManager;
+
+    BookWriteRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<BookResponseDto> updateReturningPrevious(Long id, PutCallBookRequestDto changes, Long expectedVersion) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (changes.getTitle() != null) values.put("title", changes.getTitle());
+        if (changes.getAuthor() != null) {
+            values.put("author", changes.getAuthor());
+            values.put("author_lower", Book.normalizeAuthor(changes.getAuthor()));
+        }
+        if (changes.getIsbn() != null) values.put("isbn", changes.getIsbn());
+        if (changes.getPublishedDate() != null) values.put("published_date", changes.getPublishedDate());
+        if (changes.getStatus() != null) values.put("status", changes.getStatus().name());
+
+        StringBuilder sql = new StringBuilder("update books set version = version + 1");
+        values.keySet().forEach(column -> sql.append(", ").append(column).append(" = :").append(column));
+        sql.append(" where id = :id");
+        if (expectedVersion != null) sql.append(" and version = :expectedVersion");
+
+        NativeQuery<Object[]> query = previousRows(sql);
+        values.forEach(query::setParameter);
+        query.setParameter("id", id);
+        if (expectedVersion != null) query.setParameter("expectedVersion", expectedVersion);
+        return single(query.getResultList());
+    }
+
+    @Override
+    public Optional<BookResponseDto> deleteReturningPrevious(Long id) {
+        NativeQuery<Object[]> query = previousRows(new StringBuilder("delete from books where id = :id"));
+        query.setParameter("id", id);
+        return single(query.getResultList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> previousRows(CharSequence change) {
+        NativeQuery<Object[]> query = entityManager
+                .createNativeQuery("select " + COLUMNS + " from old table (" + change + ")")
+                .unwrap(NativeQuery.class);
+        return query
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("author", String.class)
+                .addScalar("isbn", String.class)
+                .addScalar("published_date", LocalDate.class)
+                .addScalar("status", String.class)
+                .addScalar("version", Long.class);
+    }
+
+    private static Optional<BookResponseDto> single(List<Object[]> rows) {
+        if (rows.isEmpty()) return Optional.empty();
+        Object[] row = rows.get(0);
+        return Optional.of(new BookResponseDto((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                (LocalDate) row[4], BookStatus.valueOf((String) row[5]), (Long) row[6]));
+    }
+}
@@ -0,0 +1,251 @@
+package com.library.management.lmsv1.book.search;
+
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.BookSearchHitDto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book title and author. Text is split on anything that is not a
+ * letter or digit, case-folded and stripped of accents. Every query token must match; a token
+ * matches an indexed term exactly or as a prefix, so "refact fowl" finds "Refactoring" by
+ * "Martin Fowler". Prefixes are resolved by a range scan over the sorted term dictionary rather
+ * than by materialising edge n-grams per book, which costs far less memory for the same lookups.
+ */
+public class BookSearchIndex {
+
+    static final int TITLE = 1;
+    static final int AUTHOR = 2;
+    static final int MAX_QUERY_TOKENS = 8;
+
+    private static final double TITLE_BOOST = 1.5;
+    private static final double AUTHOR_BOOST = 1.0;
+    private static final double PREFIX_WEIGHT = 0.6;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Comparator<BookSearchHitDto> RANK = Comparator
+            .comparingDouble(BookSearchHitDto::getScore).reversed()
+            .thenComparing(hit -> hit.getBook().getId());
+
+    // Readers never block each other; writers are single-book and short
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private Set<Long> removedDuringLoad;
+
+    public void put(BookResponseDto book) {
+        lock.writeLock().lock();
+        try {
+            upsert(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.get(id);
+            if (existing != null) unindex(existing);
+            if (removedDuringLoad != null) removedDuringLoad.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a bulk load that runs alongside live updates: books removed after this call are not
+     * re-added by {@link #load}, and rows older than an already indexed version are ignored.
+     */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void load(BookResponseDto book) {
+        lock.writeLock().lock();
+        try {
+            if (removedDuringLoad == null || !removedDuringLoad.contains(book.getId())) upsert(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<BookSearchHitDto> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) return List.of();
+        if (tokens.size() > MAX_QUERY_TOKENS) tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+
+        lock.readLock().lock();
+        try {
+            // Most selective token first; later tokens only re-check the surviving candidates
+            List<TermRange> ranges = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                TermRange range = new TermRange(token, postings.subMap(token, true, token + Character.MAX_VALUE, false));
+                if (range.postingCount == 0) return List.of();
+                ranges.add(range);
+            }
+            ranges.sort(Comparator.comparingLong(r -> r.postingCount));
+
+            Map<Long, Double> scores = scan(ranges.get(0));
+            for (TermRange range : ranges.subList(1, ranges.size())) {
+                if (scores.isEmpty()) break;
+                scores = range.postingCount <= scores.size() ? intersectByScan(range, scores) : intersectByLookup(range, scores);
+            }
+            PriorityQueue<BookSearchHitDto> top = new PriorityQueue<>(limit + 1, RANK.reversed());
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                top.add(new BookSearchHitDto(e.getValue(), documents.get(e.getKey()).book));
+                if (top.size() > limit) top.poll();
+            }
+            List<BookSearchHitDto> hits = new ArrayList<>(top);
+            hits.sort(RANK);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private Map<Long, Double> scan(TermRange range) {
+        Map<Long, Double> matches = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> term : range.terms.entrySet()) {
+            double termWeight = termWeight(range.token, term.getKey(), term.getValue().size());
+            for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+                matches.merge(posting.getKey(), termWeight * boost(posting.getValue()), Math::max);
+            }
+        }
+        return matches;
+    }
+
+    private Map<Long, Double> intersectByScan(TermRange range, Map<Long, Double> candidates) {
+        Map<Long, Double> matches = scan(range);
+        matches.keySet().retainAll(candidates.keySet());
+        matches.replaceAll((id, weight) -> weight + candidates.get(id));
+        return matches;
+    }
+
+    // Cheaper when the candidates are fewer than the token's postings: check each candidate's own terms
+    private Map<Long, Double> intersectByLookup(TermRange range, Map<Long, Double> candidates) {
+        Map<Long, Double> matches = new HashMap<>();
+        for (Map.Entry<Long, Double> candidate : candidates.entrySet()) {
+            double best = 0;
+            for (Map.Entry<String, Integer> term : documents.get(candidate.getKey()).terms.entrySet()) {
+                if (term.getKey().startsWith(range.token)) {
+                    double weight = termWeight(range.token, term.getKey(), postings.get(term.getKey()).size());
+                    best = Math.max(best, weight * boost(term.getValue()));
+                }
+            }
+            if (best > 0) matches.put(candidate.getKey(), best + candidate.getValue());
+        }
+        return matches;
+    }
+
+    // Rarer terms weigh more; a prefix match weighs less the more of the term it leaves unmatched
+    private double termWeight(String token, String term, int documentFrequency) {
+        double idf = Math.log(1 + (double) documents.size() / documentFrequency);
+        return term.length() == token.length() ? idf : idf * PREFIX_WEIGHT * token.length() / term.length();
+    }
+
+    private static double boost(int fields) {
+        return ((fields & TITLE) != 0 ? TITLE_BOOST : 0) + ((fields & AUTHOR) != 0 ? AUTHOR_BOOST : 0);
+    }
+
+    private void upsert(BookResponseDto book) {
+        Document existing = documents.get(book.getId());
+        if (existing != null && isOlder(book, existing.book)) return;
+        if (existing != null) unindex(existing);
+        index(new Document(book));
+    }
+
+    private void index(Document document) {
+        documents.put(document.book.getId(), document);
+        document.terms.forEach((term, fields) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.book.getId(), fields));
+    }
+
+    private void unindex(Document document) {
+        documents.remove(document.book.getId());
+        for (String term : document.terms.keySet()) {
+            Map<Long, Integer> books = postings.get(term);
+            if (books == null) continue;
+            books.remove(document.book.getId());
+            if (books.isEmpty()) postings.remove(term);
+        }
+    }
+
+    private static boolean isOlder(BookResponseDto candidate, BookResponseDto indexed) {
+        return candidate.getVersion() != null && indexed.getVersion() != null
+                && candidate.getVersion() < indexed.getVersion();
+    }
+
+    private static final class TermRange {
+        private final String token;
+        private final Map<String, Map<Long, Integer>> terms;
+        private final long postingCount;
+
+        private TermRange(String token, Map<String, Map<Long, Integer>> terms) {
+            this.token = token;
+            this.terms = terms;
+            long count = 0;
+            for (Map<Long, Integer> books : terms.values()) count += books.size();
+            this.postingCount = count;
+        }
+    }
+
+    private static final class Document {
+        private final BookResponseDto book;
+        private final Map<String, Integer> terms = new HashMap<>();
+
+        private Document(BookResponseDto book) {
+            this.book = book;
+            tokenize(book.getTitle()).forEach(t -> terms.merge(t, TITLE, (a, b) -> a | b));
+            tokenize(book.getAuthor()).forEach(t -> terms.merge(t, AUTHOR, (a, b) -> a | b));
+        }
+    }
+}
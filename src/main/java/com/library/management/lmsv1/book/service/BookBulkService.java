@@ -0,0 +1,19 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.dto.BookBulkGetResultDto;
+import com.library.management.lmsv1.book.dto.BookBulkRequestDto;
+import com.library.management.lmsv1.book.dto.BookBulkResultDto;
+
+public interface BookBulkService {
+    /**
+     * Moves every book named by id or ISBN to {@code request.status}. Books already in that status
+     * are reported as such and left untouched (their version does not change).
+     */
+    BookBulkResultDto updateStatus(BookBulkRequestDto request);
+
+    /** Deletes every book named by id or ISBN; unknown keys are reported, not rejected. */
+    BookBulkResultDto delete(BookBulkRequestDto request);
+
+    /** Looks up every book named by id or ISBN; {@code request.status} is ignored. */
+    BookBulkGetResultDto get(BookBulkRequestDto request);
+}
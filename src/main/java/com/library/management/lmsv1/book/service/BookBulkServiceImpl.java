@@ -0,0 +1,208 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookBulkGetItemDto;
+import com.library.management.lmsv1.book.dto.BookBulkGetResultDto;
+import com.library.management.lmsv1.book.dto.BookBulkItemDto;
+import com.library.management.lmsv1.book.dto.BookBulkOutcome;
+import com.library.management.lmsv1.book.dto.BookBulkRequestDto;
+import com.library.management.lmsv1.book.dto.BookBulkResultDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Applies one change to many books with set-based statements. Each batch of keys costs two round
+ * trips whatever its size: a locking select of the named rows, then a single UPDATE or DELETE for
+ * the ones that need it. The whole request runs in one transaction. Batch lookups cost the select
+ * alone, without the lock.
+ */
+@Service
+@Observed(name = "book.bulk")
+@Transactional
+public class BookBulkServiceImpl implements BookBulkService {
+
+    static final int MAX_KEYS = 1000;
+    static final int BATCH_SIZE = 500;
+
+    private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BookBulkServiceImpl(BookRepository bookRepository, ApplicationEventPublisher eventPublisher) {
+        this.bookRepository = bookRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public BookBulkResultDto updateStatus(BookBulkRequestDto request) {
+        BookStatus to = request.getStatus();
+        if (to == null) {
+            throw new IllegalArgumentException("status is required");
+        }
+        return apply(request, found -> {
+            Map<Long, BookBulkItemDto> outcomes = new HashMap<>();
+            List<Long> changing = new ArrayList<>();
+            for (BookResponseDto book : found) {
+                if (book.getStatus() == to) {
+                    outcomes.put(book.getId(), item(book, BookBulkOutcome.ALREADY_IN_STATE, book.getVersion()));
+                } else {
+                    changing.add(book.getId());
+                }
+            }
+            if (!changing.isEmpty()) {
+                bookRepository.updateStatus(changing, to);
+            }
+            for (BookResponseDto before : found) {
+                if (before.getStatus() == to) continue;
+                BookResponseDto after = new BookResponseDto(before.getId(), before.getTitle(), before.getAuthor(),
+                        before.getIsbn(), before.getPublishedDate(), to, before.getVersion() + 1);
+                outcomes.put(before.getId(), item(after, BookBulkOutcome.UPDATED, after.getVersion()));
+                eventPublisher.publishEvent(BookChangedEvent.updated(before, after));
+            }
+            return outcomes;
+        });
+    }
+
+    @Override
+    public BookBulkResultDto delete(BookBulkRequestDto request) {
+        return apply(request, found -> {
+            Map<Long, BookBulkItemDto> outcomes = new HashMap<>();
+            if (found.isEmpty()) return outcomes;
+            bookRepository.deleteAllByIdIn(found.stream().map(BookResponseDto::getId).toList());
+            for (BookResponseDto book : found) {
+                outcomes.put(book.getId(), item(book, BookBulkOutcome.DELETED, null));
+                eventPublisher.publishEvent(BookChangedEvent.deleted(book));
+            }
+            return outcomes;
+        });
+    }
+
+    // One query per batch of keys instead of one request and query per book
+    @Override
+    @Transactional(readOnly = true)
+    public BookBulkGetResultDto get(BookBulkRequestDto request) {
+        List<Key> keys = keys(request);
+        BookBulkGetResultDto result = new BookBulkGetResultDto();
+        result.setRequested(keys.size());
+        int found = 0;
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<Key> batch = keys.subList(from, Math.min(keys.size(), from + BATCH_SIZE));
+            Found books = find(batch, this::findResponses);
+            for (Key key : batch) {
+                BookResponseDto book = books.get(key);
+                if (book != null) found++;
+                result.getItems().add(new BookBulkGetItemDto(key.id(), key.isbn(),
+                        book == null ? BookBulkOutcome.NOT_FOUND : BookBulkOutcome.FOUND, book));
+            }
+        }
+        result.setFound(found);
+        return result;
+    }
+
+    // Runs the change per batch and reports one item per requested key; a book named twice (say by id
+    // and by ISBN) is changed once and both keys report the outcome
+    private BookBulkResultDto apply(BookBulkRequestDto request,
+                                    Function<List<BookResponseDto>, Map<Long, BookBulkItemDto>> change) {
+        List<Key> keys = keys(request);
+        BookBulkResultDto result = new BookBulkResultDto();
+        result.setRequested(keys.size());
+        int changed = 0;
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<Key> batch = keys.subList(from, Math.min(keys.size(), from + BATCH_SIZE));
+            Found found = find(batch, this::lockResponses);
+            Map<Long, BookBulkItemDto> outcomes = change.apply(found.books());
+            changed += (int) outcomes.values().stream().filter(i -> i.getOutcome() != BookBulkOutcome.ALREADY_IN_STATE).count();
+            for (Key key : batch) {
+                BookResponseDto book = found.get(key);
+                result.getItems().add(book == null
+                        ? new BookBulkItemDto(key.id(), key.isbn(), BookBulkOutcome.NOT_FOUND, null)
+                        : outcomes.get(book.getId()));
+            }
+        }
+        result.setChanged(changed);
+        return result;
+    }
+
+    private List<BookResponseDto> findResponses(Set<Long> ids, Set<String> isbns) {
+        return query(ids, isbns, bookRepository::findResponsesByIdIn, bookRepository::findResponsesByIsbnIn);
+    }
+
+    private List<BookResponseDto> lockResponses(Set<Long> ids, Set<String> isbns) {
+        return query(ids, isbns, bookRepository::lockResponsesByIdIn, bookRepository::lockResponsesByIsbnIn);
+    }
+
+    // One indexed query per kind of key present in the batch. A book named by both comes back once,
+    // and the books are in id order, so the change statement and its events are too
+    private static List<BookResponseDto> query(Set<Long> ids, Set<String> isbns,
+                                               Function<Set<Long>, List<BookResponseDto>> byIds,
+                                               Function<Set<String>, List<BookResponseDto>> byIsbns) {
+        Map<Long, BookResponseDto> books = new TreeMap<>();
+        if (!ids.isEmpty()) byIds.apply(ids).forEach(book -> books.put(book.getId(), book));
+        if (!isbns.isEmpty()) byIsbns.apply(isbns).forEach(book -> books.putIfAbsent(book.getId(), book));
+        return new ArrayList<>(books.values());
+    }
+
+    private static Found find(List<Key> batch, BiFunction<Set<Long>, Set<String>, List<BookResponseDto>> query) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Set<String> isbns = new LinkedHashSet<>();
+        for (Key key : batch) {
+            if (key.id() != null) ids.add(key.id()); else isbns.add(key.isbn());
+        }
+        List<BookResponseDto> books = query.apply(ids, isbns);
+        Map<Long, BookResponseDto> byId = new HashMap<>();
+        Map<String, BookResponseDto> byIsbn = new HashMap<>();
+        for (BookResponseDto book : books) {
+            byId.put(book.getId(), book);
+            if (book.getIsbn() != null) byIsbn.put(book.getIsbn(), book);
+        }
+        return new Found(books, byId, byIsbn);
+    }
+
+    private static List<Key> keys(BookBulkRequestDto request) {
+        List<Long> ids = request.getIds() == null ? List.of() : request.getIds();
+        List<String> isbns = request.getIsbns() == null ? List.of() : request.getIsbns();
+        if (ids.isEmpty() && isbns.isEmpty()) {
+            throw new IllegalArgumentException("ids or isbns must not be empty");
+        }
+        if (ids.size() + isbns.size() > MAX_KEYS) {
+            throw new IllegalArgumentException("At most " + MAX_KEYS + " ids and isbns per request");
+        }
+        List<Key> keys = new ArrayList<>(ids.size() + isbns.size());
+        for (Long id : ids) {
+            if (id == null) throw new IllegalArgumentException("ids must not contain null");
+            keys.add(new Key(id, null));
+        }
+        for (String isbn : isbns) {
+            if (isbn == null || isbn.isBlank()) throw new IllegalArgumentException("isbns must not contain blanks");
+            keys.add(new Key(null, isbn));
+        }
+        return keys;
+    }
+
+    private static BookBulkItemDto item(BookResponseDto book, BookBulkOutcome outcome, Long version) {
+        return new BookBulkItemDto(book.getId(), book.getIsbn(), outcome, version);
+    }
+
+    private record Key(Long id, String isbn) {}
+
+    // The books a batch of keys matched, indexed both ways so each key finds its book
+    private record Found(List<BookResponseDto> books, Map<Long, BookResponseDto> byId, Map<String, BookResponseDto> byIsbn) {
+        BookResponseDto get(Key key) {
+            return key.id() != null ? byId.get(key.id()) : byIsbn.get(key.isbn());
+        }
+    }
+}
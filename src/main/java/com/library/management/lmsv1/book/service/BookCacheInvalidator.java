@@ -0,0 +1,57 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.event.BookReplicatedEvent;
+import com.library.management.lmsv1.common.CacheConfig;
+import com.library.management.lmsv1.common.GuardedCaffeineCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached single-book lookups once a write has committed. Eviction alone does not stop a
+ * lookup that read the old row before the commit from putting it back afterwards; the caches are
+ * {@link GuardedCaffeineCache}s, which drop a fill whose miss came before the eviction. In-flight
+ * shared loads are forgotten first, so a lookup that misses after the eviction cannot join a load
+ * from before it. With read replicas a lookup can still read the old row from a replica that has
+ * not caught up, so both are repeated as each replica applies the change.
+ */
+@Component
+public class BookCacheInvalidator {
+
+    private final Cache booksById;
+    private final Cache booksByIsbn;
+    private final Cache bookVersions;
+    private final BookLookupCoalescer lookups;
+
+    public BookCacheInvalidator(CacheManager cacheManager, BookLookupCoalescer lookups) {
+        this.booksById = cacheManager.getCache(CacheConfig.BOOKS);
+        this.booksByIsbn = cacheManager.getCache(CacheConfig.BOOKS_BY_ISBN);
+        this.bookVersions = cacheManager.getCache(CacheConfig.BOOK_VERSIONS);
+        this.lookups = lookups;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lookups.forget(event);
+        if (event.getType() == BookChangedEvent.Type.CREATED) return;
+        booksById.evict(event.getBookId());
+        bookVersions.evict(event.getBookId());
+        evictIsbn(event.getBefore());
+        evictIsbn(event.getAfter());
+    }
+
+    @EventListener
+    public void onBookReplicated(BookReplicatedEvent event) {
+        onBookChanged(event.getChange());
+    }
+
+    private void evictIsbn(BookResponseDto book) {
+        if (book != null && book.getIsbn() != null) {
+            booksByIsbn.evict(book.getIsbn());
+        }
+    }
+}
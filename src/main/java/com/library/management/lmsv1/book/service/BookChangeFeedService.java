@@ -0,0 +1,13 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.feed.BookChangeFeed;
+
+public interface BookChangeFeedService {
+    /**
+     * Streams committed changes to {@code sink}, starting after sequence {@code after} when it is
+     * still buffered (otherwise the sink is reset), or with live changes only when {@code after} is null.
+     */
+    BookChangeFeed.Subscription subscribe(Long after, BookChangeFeed.Sink sink);
+
+    long lastSequence();
+}
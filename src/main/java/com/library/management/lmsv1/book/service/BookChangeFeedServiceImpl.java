@@ -0,0 +1,82 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.feed.BookChangeFeed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feeds {@link BookChangeFeed} from {@link BookChangedEvent}s. Each transaction reserves its place in
+ * the feed just before it commits, while its row locks still order it against other writes to the
+ * same books, and publishes its changes there once the commit has succeeded. Sequence numbers
+ * therefore follow commit order, and rolled-back writes are never announced.
+ */
+@Service
+public class BookChangeFeedServiceImpl implements BookChangeFeedService {
+
+    private final BookChangeFeed feed;
+
+    public BookChangeFeedServiceImpl(@Value("${lms.feed.buffer-size:10000}") int bufferSize,
+                                     @Value("${lms.feed.subscriber-queue-size:1000}") int queueSize,
+                                     @Value("${lms.feed.heartbeat:PT15S}") Duration heartbeat,
+                                     MeterRegistry meterRegistry) {
+        this.feed = new BookChangeFeed(bufferSize, queueSize, heartbeat);
+        Gauge.builder("book.feed.subscribers", feed, BookChangeFeed::subscriberCount)
+                .description("Open change-feed subscriptions")
+                .register(meterRegistry);
+        FunctionCounter.builder("book.feed.dropped", feed, BookChangeFeed::droppedCount)
+                .description("Subscribers disconnected for falling too far behind")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BookChangeFeed.Subscription subscribe(Long after, BookChangeFeed.Sink sink) {
+        return feed.subscribe(after, sink);
+    }
+
+    @Override
+    public long lastSequence() {
+        return feed.lastSequence();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            feed.append(event);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<BookChangedEvent> pending = (List<BookChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<BookChangedEvent> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            BookChangeFeed.Reservation reservation = feed.reserve();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BookChangeFeedServiceImpl.this);
+                    feed.publish(reservation, status == STATUS_COMMITTED ? changes : List.of());
+                }
+            });
+            pending = changes;
+        }
+        pending.add(event);
+    }
+
+    @PreDestroy
+    public void close() {
+        feed.close();
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.management.lmsv1.book.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the sort key of the last row of a page, base64url encoded so clients
+ * treat it as a token rather than something to construct themselves.
+ */
+final class BookCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDate publishedDate;
+    private final long id;
+
+    private BookCursor(LocalDate publishedDate, long id) {
+        this.publishedDate = publishedDate;
+        this.id = id;
+    }
+
+    static BookCursor ofId(long id) {
+        return new BookCursor(null, id);
+    }
+
+    static BookCursor ofPublishedDate(LocalDate publishedDate, long id) {
+        return new BookCursor(publishedDate, id);
+    }
+
+    LocalDate publishedDate() { return publishedDate; }
+    long id() { return id; }
+
+    String encode() {
+        String raw = publishedDate == null ? Long.toString(id) : publishedDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static BookCursor decodeId(String cursor) {
+        BookCursor decoded = decode(cursor);
+        if (decoded.publishedDate != null) throw invalid();
+        return decoded;
+    }
+
+    static BookCursor decodePublishedDate(String cursor) {
+        BookCursor decoded = decode(cursor);
+        if (decoded.publishedDate == null) throw invalid();
+        return decoded;
+    }
+
+    private static BookCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep < 0) return new BookCursor(null, Long.parseLong(raw));
+            return new BookCursor(LocalDate.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalid();
+        }
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,24 @@
+package com.library.management.lmsv1.book.service;
+
+import java.util.Locale;
+
+public enum BookExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    BookExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() { return contentType; }
+
+    public static BookExportFormat fromParam(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.library.management.lmsv1.book.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    /** Writes the whole catalog to {@code out} in id order, one row at a time. Returns the number of rows written. */
+    long export(BookExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,90 @@
+package com.library.management.lmsv1.book.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Observed(name = "book.export")
+public class BookExportServiceImpl implements BookExportService {
+
+    private static final String CSV_HEADER = "id,title,author,isbn,publishedDate,status";
+
+    private final BookRepository bookRepository;
+    private final ObjectWriter jsonWriter;
+    private final ObjectMapper objectMapper;
+
+    public BookExportServiceImpl(BookRepository bookRepository, ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.objectMapper = objectMapper;
+        this.jsonWriter = objectMapper.writerFor(BookResponseDto.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(BookExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BookResponseDto> books = bookRepository.streamAllOrderedById()) {
+            Iterator<BookResponseDto> it = books.iterator();
+            return format == BookExportFormat.CSV ? writeCsv(it, out) : writeNdjson(it, out);
+        }
+    }
+
+    private long writeNdjson(Iterator<BookResponseDto> books, OutputStream out) throws IOException {
+        long rows = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        while (books.hasNext()) {
+            jsonWriter.writeValue(generator, books.next());
+            generator.writeRaw('\n');
+            rows++;
+        }
+        generator.flush();
+        return rows;
+    }
+
+    private long writeCsv(Iterator<BookResponseDto> books, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (books.hasNext()) {
+            BookResponseDto book = books.next();
+            writer.write(String.valueOf(book.getId()));
+            writer.write(',');
+            writer.write(csv(book.getTitle()));
+            writer.write(',');
+            writer.write(csv(book.getAuthor()));
+            writer.write(',');
+            writer.write(csv(book.getIsbn()));
+            writer.write(',');
+            writer.write(book.getPublishedDate() == null ? "" : book.getPublishedDate().toString());
+            writer.write(',');
+            writer.write(book.getStatus().name());
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,11 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.dto.BookFacetsDto;
+
+public interface BookFacetService {
+    /** Book counts by status, by author (the {@code topAuthors} most frequent) and by publication year. */
+    BookFacetsDto facets(int topAuthors);
+
+    /** Recounts from the database and replaces the in-memory counters. Returns how many buckets had drifted. */
+    long reconcile();
+}
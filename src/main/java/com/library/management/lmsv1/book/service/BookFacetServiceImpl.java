@@ -0,0 +1,275 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookFacetsDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Answers facet queries from counters adjusted by committed {@link BookChangedEvent}s. The counters
+ * are seeded from a database GROUP BY once the application is ready and periodically recounted,
+ * which repairs anything missed (writes that bypass the services publish no event). Until the
+ * first recount completes, requests are answered from the database directly.
+ *
+ * <p>A transaction that changes books holds {@code commitLock} for reading from just before it
+ * commits until its deltas are applied; a recount holds it for writing while it reads. The recount
+ * therefore sees exactly the commits the counters already have, and what it reports as drift is
+ * drift, not a change caught between its commit and its event.
+ */
+@Service
+@Observed(name = "book.facets")
+public class BookFacetServiceImpl implements BookFacetService {
+
+    static final int MAX_TOP_AUTHORS = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(BookFacetServiceImpl.class);
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private volatile Counts counts;
+
+    public BookFacetServiceImpl(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        // Not read-only, so recounts run on the primary: a replica that is behind would look like drift
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BookFacetsDto facets(int topAuthors) {
+        if (topAuthors < 1 || topAuthors > MAX_TOP_AUTHORS) {
+            throw new IllegalArgumentException("topAuthors must be between 1 and " + MAX_TOP_AUTHORS);
+        }
+        Counts current = counts;
+        return current != null
+                ? current.toDto(topAuthors, "counters")
+                : countFromDatabase().toDto(topAuthors, "database");
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${lms.facets.reconcile-interval:PT10M}",
+            fixedDelayString = "${lms.facets.reconcile-interval:PT10M}")
+    public long reconcile() {
+        // The lock is taken once the transaction holds its connection: commits waiting on the lock
+        // hold pooled connections of their own
+        Long drift = primaryTransaction.execute(tx -> {
+            commitLock.writeLock().lock();
+            try {
+                Counts fresh = countFromDatabase();
+                Counts previous = counts;
+                counts = fresh;
+                return previous == null ? 0L : previous.drift(fresh);
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+        });
+        if (drift != null && drift > 0) {
+            log.warn("Facet counters had drifted in {} buckets; replaced with database counts", drift);
+        }
+        return drift == null ? 0 : drift;
+    }
+
+    // Runs before the commit so the read lock covers it; the changes are applied once it has succeeded
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            commitLock.readLock().lock();
+            try {
+                apply(List.of(event));
+            } finally {
+                commitLock.readLock().unlock();
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<BookChangedEvent> pending = (List<BookChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<BookChangedEvent> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            commitLock.readLock().lock();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BookFacetServiceImpl.this);
+                    try {
+                        if (status == STATUS_COMMITTED) apply(changes);
+                    } finally {
+                        commitLock.readLock().unlock();
+                    }
+                }
+            });
+            pending = changes;
+        }
+        pending.add(event);
+    }
+
+    private void apply(List<BookChangedEvent> events) {
+        Counts current = counts;
+        if (current == null) return; // the first recount will include these changes
+        for (BookChangedEvent event : events) {
+            if (event.getBefore() != null) current.add(event.getBefore(), -1);
+            if (event.getAfter() != null) current.add(event.getAfter(), 1);
+        }
+    }
+
+    private Counts countFromDatabase() {
+        return primaryTransaction.execute(tx -> {
+            Counts fresh = new Counts();
+            for (Object[] row : bookRepository.countByStatus()) {
+                fresh.adjustStatus((BookStatus) row[0], (Long) row[1]);
+            }
+            for (Object[] row : bookRepository.countByAuthor()) {
+                fresh.adjustAuthor((String) row[0], (String) row[1], (Long) row[2]);
+            }
+            for (Object[] row : bookRepository.countByPublicationYear()) {
+                fresh.adjustYear(yearKey((Number) row[0]), (Long) row[1]);
+            }
+            return fresh;
+        });
+    }
+
+    private static String yearKey(Number year) {
+        return year == null ? BookFacetsDto.UNKNOWN_YEAR : String.valueOf(year.intValue());
+    }
+
+    /**
+     * Counts by status, author and year. Authors are also kept ranked, most frequent first, so a
+     * request reads only the top {@code topAuthors} whatever the number of authors; each change
+     * moves one author in the ranking.
+     *
+     * <p>Authors are counted by {@link Book#normalizeAuthor}, as the author filter matches them, so
+     * "Tolkien" and "tolkien" are one bucket. Each bucket is shown under one spelling: the first
+     * one seen by the counters, replaced by the database's choice at every recount.
+     */
+    private static final class Counts {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<BookStatus, Long> byStatus = new EnumMap<>(BookStatus.class);
+        private final Map<String, Long> byAuthor = new HashMap<>();
+        private final Map<String, String> authorNames = new HashMap<>();
+        private final NavigableSet<AuthorCount> authorRanking = new TreeSet<>();
+        private final Map<String, Long> byYear = new TreeMap<>();
+
+        // One hold for the whole book, so a request never sees it in some buckets and not others
+        void add(BookResponseDto book, long delta) {
+            lock.lock();
+            try {
+                adjustStatus(book.getStatus(), delta);
+                adjustAuthor(Book.normalizeAuthor(book.getAuthor()), book.getAuthor(), delta);
+                adjustYear(yearKey(book.getPublishedDate() == null ? null : book.getPublishedDate().getYear()), delta);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void adjustStatus(BookStatus status, long delta) {
+            lock.lock();
+            try {
+                adjust(byStatus, status, delta);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void adjustYear(String year, long delta) {
+            lock.lock();
+            try {
+                adjust(byYear, year, delta);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void adjustAuthor(String key, String name, long delta) {
+            if (key == null) return;
+            lock.lock();
+            try {
+                Long previous = byAuthor.get(key);
+                if (previous != null) authorRanking.remove(new AuthorCount(key, previous));
+                Long next = adjust(byAuthor, key, delta);
+                if (next != null) {
+                    authorRanking.add(new AuthorCount(key, next));
+                    authorNames.putIfAbsent(key, name);
+                } else {
+                    authorNames.remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Buckets that reach zero are dropped so removed authors and years disappear
+        private static <K> Long adjust(Map<K, Long> counts, K key, long delta) {
+            if (key == null) return null;
+            return counts.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        BookFacetsDto toDto(int topAuthors, String source) {
+            lock.lock();
+            try {
+                Map<BookStatus, Long> status = new EnumMap<>(BookStatus.class);
+                long total = 0;
+                for (BookStatus s : BookStatus.values()) {
+                    long n = byStatus.getOrDefault(s, 0L);
+                    status.put(s, n);
+                    total += n;
+                }
+                Map<String, Long> authors = new LinkedHashMap<>();
+                for (AuthorCount author : authorRanking) {
+                    if (authors.size() == topAuthors) break;
+                    authors.put(authorNames.get(author.key()), author.count());
+                }
+                return new BookFacetsDto(total, status, authors, new TreeMap<>(byYear), source);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long drift(Counts other) {
+            return drift(byStatus, other.byStatus) + drift(byAuthor, other.byAuthor) + drift(byYear, other.byYear);
+        }
+
+        private static <K> long drift(Map<K, Long> a, Map<K, Long> b) {
+            Set<K> keys = new HashSet<>(a.keySet());
+            keys.addAll(b.keySet());
+            return keys.stream().filter(k -> !a.getOrDefault(k, 0L).equals(b.getOrDefault(k, 0L))).count();
+        }
+    }
+
+    private record AuthorCount(String key, long count) implements Comparable<AuthorCount> {
+        @Override
+        public int compareTo(AuthorCount other) {
+            int byCount = Long.compare(other.count, count);
+            return byCount != 0 ? byCount : key.compareTo(other.key);
+        }
+    }
+}
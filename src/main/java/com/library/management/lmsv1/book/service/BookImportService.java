@@ -0,0 +1,15 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.dto.BookImportResultDto;
+
+import java.io.InputStream;
+
+public interface BookImportService {
+    /**
+     * Imports books from a JSON array or NDJSON stream of {@code BookRequestDto} rows.
+     * Each batch commits on its own, so rows imported before a failing batch stay imported.
+     *
+     * @param batchSize rows per transaction and JDBC batch, or null for the configured default
+     */
+    BookImportResultDto importBooks(InputStream payload, Integer batchSize);
+}
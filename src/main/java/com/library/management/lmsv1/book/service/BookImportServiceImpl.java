@@ -0,0 +1,218 @@
+package com.library.management.lmsv1.book.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookImportFailureDto;
+import com.library.management.lmsv1.book.dto.BookImportResultDto;
+import com.library.management.lmsv1.book.dto.BookRequestDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Observed(name = "book.import")
+public class BookImportServiceImpl implements BookImportService {
+
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookIsbnFilter isbnFilter;
+    private final int defaultBatchSize;
+
+    public BookImportServiceImpl(BookRepository bookRepository,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 BookIsbnFilter isbnFilter,
+                                 @Value("${lms.import.batch-size:500}") int defaultBatchSize) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.isbnFilter = isbnFilter;
+        this.defaultBatchSize = defaultBatchSize;
+    }
+
+    @Override
+    public BookImportResultDto importBooks(InputStream payload, Integer batchSize) {
+        int size = batchSize == null ? defaultBatchSize : batchSize;
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        long start = System.nanoTime();
+        BookImportResultDto result = new BookImportResultDto();
+        result.setBatchSize(size);
+        Set<String> seenIsbns = new HashSet<>();
+        List<Row> batch = new ArrayList<>(size);
+        long rowNumber = 0;
+
+        try (MappingIterator<BookRequestDto> rows = objectMapper.readerFor(BookRequestDto.class).readValues(payload)) {
+            while (true) {
+                BookRequestDto dto;
+                try {
+                    if (!rows.hasNextValue()) break;
+                    rowNumber++;
+                    dto = rows.nextValue();
+                } catch (IOException e) {
+                    // The parser cannot resynchronise after malformed input, so stop after what is already read
+                    result.getFailures().add(new BookImportFailureDto(rowNumber, null, "Malformed JSON: " + e.getMessage()));
+                    break;
+                }
+                if (dto == null) {
+                    result.getFailures().add(new BookImportFailureDto(rowNumber, null, "Row is null"));
+                    continue;
+                }
+                batch.add(new Row(rowNumber, dto));
+                if (batch.size() == size) {
+                    importBatch(batch, seenIsbns, size, result);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            result.getFailures().add(new BookImportFailureDto(rowNumber, null, "Unreadable payload: " + e.getMessage()));
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, seenIsbns, size, result);
+        }
+        result.setReceived(rowNumber);
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private void importBatch(List<Row> batch, Set<String> seenIsbns, int jdbcBatchSize, BookImportResultDto result) {
+        List<Row> valid = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            Set<ConstraintViolation<BookRequestDto>> violations = validator.validate(row.dto);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                result.getFailures().add(new BookImportFailureDto(row.number, row.dto.getIsbn(), message));
+            } else if (row.dto.getIsbn() != null && !seenIsbns.add(row.dto.getIsbn())) {
+                result.getFailures().add(new BookImportFailureDto(row.number, row.dto.getIsbn(), "Duplicate ISBN in payload"));
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) return;
+
+        Set<String> isbns = valid.stream()
+                .map(r -> r.dto.getIsbn())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existing = isbns.isEmpty() ? Set.of() : isbnFilter.findExisting(isbns, bookRepository::findExistingIsbns);
+        List<Row> toInsert = withoutExisting(valid, existing);
+        RuntimeException rejected = tryInsert(toInsert, jdbcBatchSize);
+        if (rejected != null && !isbns.isEmpty() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The filter cannot see writes made outside the services, and a concurrent writer may have
+            // taken an ISBN since the check: ask the database itself and try once more. Only when the
+            // batch had its own transaction, as otherwise its first rows may still be in the caller's
+            existing = bookRepository.findExistingIsbns(isbns);
+            toInsert = withoutExisting(valid, existing);
+            rejected = tryInsert(toInsert, jdbcBatchSize);
+        }
+        for (Row row : valid) {
+            if (row.dto.getIsbn() != null && existing.contains(row.dto.getIsbn())) {
+                result.getFailures().add(new BookImportFailureDto(row.number, row.dto.getIsbn(), "ISBN already exists"));
+            }
+        }
+        if (rejected == null) {
+            result.setImported(result.getImported() + toInsert.size());
+        } else {
+            for (Row row : toInsert) {
+                result.getFailures().add(new BookImportFailureDto(row.number, row.dto.getIsbn(),
+                        "Batch rejected by database: " + NestedExceptionUtils.getMostSpecificCause(rejected).getMessage()));
+            }
+        }
+    }
+
+    private static List<Row> withoutExisting(List<Row> rows, Set<String> existing) {
+        List<Row> remaining = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.dto.getIsbn() == null || !existing.contains(row.dto.getIsbn())) {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    // Returns why the batch was rolled back, or null once it has committed. The flush is on the
+    // entity manager rather than a repository, so a constraint violation arrives untranslated
+    private RuntimeException tryInsert(List<Row> rows, int jdbcBatchSize) {
+        if (rows.isEmpty()) return null;
+        try {
+            transactionTemplate.executeWithoutResult(tx -> insert(rows, jdbcBatchSize));
+            return null;
+        } catch (DataAccessException | PersistenceException e) {
+            // Inside a caller's transaction the rejected entities would otherwise be flushed again
+            entityManager.clear();
+            return e;
+        }
+    }
+
+    private void insert(List<Row> rows, int jdbcBatchSize) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        List<Book> books = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            BookRequestDto dto = row.dto;
+            Book book = new Book(
+                    dto.getTitle(),
+                    dto.getAuthor(),
+                    dto.getIsbn(),
+                    dto.getPublishedDate(),
+                    dto.getStatus() == null ? BookStatus.AVAILABLE : dto.getStatus()
+            );
+            entityManager.persist(book);
+            books.add(book);
+        }
+        // Flush the whole batch as JDBC batches, then drop the entities so memory stays bounded
+        entityManager.flush();
+        entityManager.clear();
+        // Delivered to @TransactionalEventListeners only if this batch commits
+        books.forEach(book -> eventPublisher.publishEvent(BookChangedEvent.created(BookMapper.mapToResponse(book))));
+    }
+
+    private static final class Row {
+        private final long number;
+        private final BookRequestDto dto;
+
+        private Row(long number, BookRequestDto dto) {
+            this.number = number;
+            this.dto = dto;
+        }
+    }
+}
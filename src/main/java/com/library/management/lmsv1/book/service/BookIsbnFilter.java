@@ -0,0 +1,145 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import com.library.management.lmsv1.common.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over every ISBN in the catalog, so existence checks for ISBNs that are certainly new
+ * (nearly all of them in a bulk load) skip the database. Built once the application is ready, added
+ * to by committed {@link BookChangedEvent}s and rebuilt every {@code lms.isbn-filter.rebuild-interval}
+ * to shed the ISBNs of deleted or renumbered books, which would otherwise only add false positives.
+ * Until the first build completes every ISBN counts as possibly present.
+ *
+ * <p>Writes that bypass the services publish no event and are missed until the next rebuild, so
+ * "absent" is a hint: the unique constraint on ISBN stays the authority.
+ *
+ * <p>Meters: {@code book.isbn.checks} tagged {@code outcome} ({@code absent} skipped the database,
+ * {@code present} was found there, {@code false_positive} was queried but not found), and
+ * {@code book.isbn.filter.size} in bytes.
+ */
+@Component
+public class BookIsbnFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(BookIsbnFilter.class);
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final LongAdder absent = new LongAdder();
+    private final LongAdder present = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile BloomFilter current;
+    // The filter being rebuilt, if any; writes committed during the rebuild go into both
+    private volatile BloomFilter building;
+
+    public BookIsbnFilter(BookRepository bookRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${lms.isbn-filter.enabled:true}") boolean enabled,
+                          @Value("${lms.isbn-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${lms.isbn-filter.min-capacity:100000}") long minCapacity) {
+        this.bookRepository = bookRepository;
+        // Not read-only, so the scan runs on the primary and cannot miss what a replica has yet to apply
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        counter(meterRegistry, "absent", absent);
+        counter(meterRegistry, "present", present);
+        counter(meterRegistry, "false_positive", falsePositives);
+        Gauge.builder("book.isbn.filter.size", this, f -> f.current == null ? 0 : f.current.byteSize())
+                .description("Memory taken by the ISBN Bloom filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The ISBNs among {@code isbns} that exist. Only those the filter cannot rule out are passed to
+     * {@code query}, and when it rules them all out the query is not run.
+     */
+    public Set<String> findExisting(Collection<String> isbns, Function<Set<String>, Set<String>> query) {
+        // Inside a caller's transaction its own uncommitted writes count, and the filter has not seen them
+        BloomFilter filter = TransactionSynchronizationManager.isActualTransactionActive() ? null : current;
+        Set<String> candidates = filter == null
+                ? Set.copyOf(isbns)
+                : isbns.stream().filter(filter::mightContain).collect(Collectors.toSet());
+        absent.add(isbns.size() - candidates.size());
+        if (candidates.isEmpty()) return Set.of();
+        Set<String> found = query.apply(candidates);
+        present.add(found.size());
+        if (filter != null) falsePositives.add(candidates.size() - found.size());
+        return found;
+    }
+
+    /** Replaces the filter with one built from the database, sized for the catalog as it is now. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${lms.isbn-filter.rebuild-interval:PT1H}",
+            fixedDelayString = "${lms.isbn-filter.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!enabled || !rebuildLock.tryLock()) return;
+        try {
+            long start = System.nanoTime();
+            primaryTransaction.executeWithoutResult(tx -> {
+                // Twice the current size leaves room to grow before the next rebuild
+                BloomFilter fresh = new BloomFilter(Math.max(minCapacity, 2 * bookRepository.count()), falsePositiveRate);
+                // Published before the scan starts: a write committed earlier is in the scan, a later one is added here
+                building = fresh;
+                try (Stream<String> isbns = bookRepository.streamAllIsbns()) {
+                    isbns.forEach(fresh::put);
+                }
+                current = fresh;
+            });
+            log.debug("Rebuilt ISBN filter ({} bytes) in {} ms", current.byteSize(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        BookResponseDto after = event.getAfter();
+        if (after == null || after.getIsbn() == null) return;
+        // In this order: rebuild sets current before clearing building, so one of the two is the new filter
+        put(building, after.getIsbn());
+        put(current, after.getIsbn());
+    }
+
+    private static void put(BloomFilter filter, String isbn) {
+        if (filter != null) filter.put(isbn);
+    }
+
+    private static void counter(MeterRegistry registry, String outcome, LongAdder count) {
+        FunctionCounter.builder("book.isbn.checks", count, LongAdder::doubleValue)
+                .description("ISBN existence checks, by whether the filter ruled them out or the database answered")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
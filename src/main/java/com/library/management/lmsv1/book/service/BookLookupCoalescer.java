@@ -0,0 +1,87 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.common.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Shares one database load between concurrent single-book lookups of the same id or ISBN, so a
+ * burst of cache misses for a trending title costs one query instead of one per request. Sits
+ * below the read-through cache: only misses get here.
+ *
+ * <p>Meters: {@code book.lookup.requests} tagged {@code key} (id, isbn) and {@code outcome}
+ * ({@code loaded} ran the query, {@code joined} shared another request's query, {@code timed_out}
+ * gave up waiting). The coalescing ratio is joined over loaded plus joined.
+ */
+@Component
+public class BookLookupCoalescer {
+
+    private final SingleFlight<Long, BookResponseDto> byId;
+    private final SingleFlight<String, BookResponseDto> byIsbn;
+
+    public BookLookupCoalescer(@Value("${lms.lookup.coalesce-timeout:PT2S}") Duration timeout,
+                               MeterRegistry meterRegistry) {
+        this.byId = new SingleFlight<>(timeout);
+        this.byIsbn = new SingleFlight<>(timeout);
+        register(meterRegistry, "id", byId);
+        register(meterRegistry, "isbn", byIsbn);
+    }
+
+    public BookResponseDto byId(Long id, Supplier<BookResponseDto> loader) {
+        return load(byId, id, loader);
+    }
+
+    public BookResponseDto byIsbn(String isbn, Supplier<BookResponseDto> loader) {
+        return load(byIsbn, isbn, loader);
+    }
+
+    // A lookup inside a caller's transaction must see that transaction's own writes, so it never
+    // shares (or lends) a result across transactions
+    private static <K> BookResponseDto load(SingleFlight<K, BookResponseDto> flight, K key, Supplier<BookResponseDto> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        return flight.load(key, loader);
+    }
+
+    /**
+     * Makes requests arriving from now on start a fresh load rather than join one that may have
+     * read the previous row. Called by {@link BookCacheInvalidator} ahead of its evictions, so a
+     * miss that sees the eviction cannot join a load from before it.
+     */
+    public void forget(BookChangedEvent event) {
+        byId.forget(event.getBookId());
+        forgetIsbn(event.getBefore());
+        forgetIsbn(event.getAfter());
+    }
+
+    private void forgetIsbn(BookResponseDto book) {
+        if (book != null && book.getIsbn() != null) {
+            byIsbn.forget(book.getIsbn());
+        }
+    }
+
+    private static void register(MeterRegistry registry, String key, SingleFlight<?, ?> flight) {
+        counter(registry, key, "loaded", flight, SingleFlight::loadCount);
+        counter(registry, key, "joined", flight, SingleFlight::joinCount);
+        counter(registry, key, "timed_out", flight, SingleFlight::timeoutCount);
+    }
+
+    private static void counter(MeterRegistry registry, String key, String outcome, SingleFlight<?, ?> flight,
+                                ToDoubleFunction<SingleFlight<?, ?>> count) {
+        FunctionCounter.builder("book.lookup.requests", flight, count)
+                .description("Single-book lookups that missed the cache, by whether they ran or shared a query")
+                .tag("key", key)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+
+public final class BookMapper {
+
+    private BookMapper() {}
+
+    public static BookResponseDto mapToResponse(Book book) {
+        return new BookResponseDto(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getIsbn(),
+                book.getPublishedDate(),
+                book.getStatus(),
+                book.getVersion()
+        );
+    }
+}
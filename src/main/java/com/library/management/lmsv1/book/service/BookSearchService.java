@@ -0,0 +1,10 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.dto.BookSearchHitDto;
+
+import java.util.List;
+
+public interface BookSearchService {
+    /** Ranked title/author matches for {@code query}; every word must match a whole word or word prefix. */
+    List<BookSearchHitDto> search(String query, int limit);
+}
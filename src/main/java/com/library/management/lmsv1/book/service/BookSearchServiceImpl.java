@@ -0,0 +1,78 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.BookSearchHitDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import com.library.management.lmsv1.book.search.BookSearchIndex;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serves search from {@link BookSearchIndex}. The index is loaded from the database once the
+ * application is ready (after seeding) and then follows committed {@link BookChangedEvent}s.
+ */
+@Service
+@Observed(name = "book.search")
+public class BookSearchServiceImpl implements BookSearchService {
+
+    static final int MAX_LIMIT = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchServiceImpl.class);
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final BookSearchIndex index = new BookSearchIndex();
+
+    public BookSearchServiceImpl(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        // Not read-only, so the load runs on the primary and cannot miss changes a replica has yet to apply
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<BookSearchHitDto> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return index.search(query, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        index.beginLoad();
+        try {
+            primaryTransaction.executeWithoutResult(tx -> {
+                try (Stream<BookResponseDto> books = bookRepository.streamAllOrderedById()) {
+                    books.forEach(index::load);
+                }
+            });
+        } finally {
+            index.endLoad();
+        }
+        log.info("Search index loaded {} books in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getType() == BookChangedEvent.Type.DELETED) {
+            index.remove(event.getBookId());
+        } else {
+            index.put(event.getAfter());
+        }
+    }
+}
@@ -1,21 +1,24 @@
 package com.library.management.lmsv1.book.service;
 
 import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookPageResponseDto;
 import com.library.management.lmsv1.book.dto.BookRequestDto;
 import com.library.management.lmsv1.book.dto.BookResponseDto;
 import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
 
 import java.time.LocalDate;
-import java.util.List;
 
 public interface BookService {
     BookResponseDto create(BookRequestDto requestDto);
-    List<BookResponseDto> findAll(String author, BookStatus status);
+    BookPageResponseDto findAll(String author, BookStatus status, String cursor, int limit);
     BookResponseDto findById(Long id);
-    BookResponseDto update(Long id, PutCallBookRequestDto requestDto);
+    BookResponseDto findByIsbn(String isbn);
+    long findVersion(Long id);
+    /** @param expectedVersion version the caller last saw (from If-Match), or null to skip the precondition */
+    BookResponseDto update(Long id, PutCallBookRequestDto requestDto, Long expectedVersion);
     void delete(Long id);
-    List<BookResponseDto> findPublishedAfter(LocalDate date);
-
-
+    BookResponseDto checkout(Long id);
+    BookResponseDto returnBook(Long id);
+    BookPageResponseDto findPublishedAfter(LocalDate date, LocalDate before, BookStatus status, String cursor, int limit);
 }
 
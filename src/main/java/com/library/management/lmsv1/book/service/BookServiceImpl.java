@@ -2,35 +2,50 @@ package com.library.management.lmsv1.book.service;
 
 import com.library.management.lmsv1.book.Book;
 import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookPageResponseDto;
 import com.library.management.lmsv1.book.dto.BookRequestDto;
 import com.library.management.lmsv1.book.dto.BookResponseDto;
 import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
-import com.library.management.lmsv1.book.exception.DuplicateResourceException;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.exception.InvalidStatusTransitionException;
+import com.library.management.lmsv1.book.exception.PreconditionFailedException;
 import com.library.management.lmsv1.book.exception.ResourceNotFoundException;
 import com.library.management.lmsv1.book.repository.BookRepository;
+import com.library.management.lmsv1.book.repository.BookSpecifications;
+import com.library.management.lmsv1.common.CacheConfig;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
+@Observed(name = "book.service")
 @Transactional
 public class BookServiceImpl implements BookService {
 
+    static final int MAX_PAGE_SIZE = 500;
+
     private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookLookupCoalescer lookups;
 
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository, ApplicationEventPublisher eventPublisher,
+                           BookLookupCoalescer lookups) {
         this.bookRepository = bookRepository;
+        this.eventPublisher = eventPublisher;
+        this.lookups = lookups;
     }
 
     @Override
     public BookResponseDto create(BookRequestDto requestDto) {
-        if (requestDto.getIsbn() != null && bookRepository.existsByIsbn(requestDto.getIsbn())) {
-            throw new DuplicateResourceException("ISBN already exists");
-        }
         Book book = new Book(
                 requestDto.getTitle(),
                 requestDto.getAuthor(),
@@ -38,69 +53,148 @@ public class BookServiceImpl implements BookService {
                 requestDto.getPublishedDate(),
                 requestDto.getStatus() == null ? BookStatus.AVAILABLE : requestDto.getStatus()
         );
-        return mapToResponse(bookRepository.save(book));
+        // No ISBN pre-check: uk_books_isbn rejects a duplicate at flush, which GlobalExceptionHandler maps to 409
+        BookResponseDto created = BookMapper.mapToResponse(bookRepository.saveAndFlush(book));
+        eventPublisher.publishEvent(BookChangedEvent.created(created));
+        return created;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookResponseDto> findAll(String author, BookStatus status) {
-        return bookRepository.findAll().stream()
-                .filter(b -> author == null || b.getAuthor().equalsIgnoreCase(author))
-                .filter(b -> status == null || b.getStatus() == status)
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public BookPageResponseDto findAll(String author, BookStatus status, String cursor, int limit) {
+        checkLimit(limit);
+        Long afterId = cursor == null ? null : BookCursor.decodeId(cursor).id();
+        Specification<Book> spec = BookSpecifications.filter(author, status)
+                .and(BookSpecifications.idAfter(afterId));
+        List<BookResponseDto> rows = bookRepository.findResponses(spec, Sort.by("id"), limit + 1);
+        return toPage(rows, limit, last -> BookCursor.ofId(last.getId()));
     }
 
+    // Cache misses for the same book share one query. SUPPORTS rather than a read-only transaction:
+    // the query runs in the repository's own transaction, so callers waiting on another caller's
+    // load do not each hold a pooled connection
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id")
     public BookResponseDto findById(Long id) {
-        return bookRepository.findById(id)
-                .map(this::mapToResponse)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id=" + id));
+        return lookups.byId(id, () -> bookRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id=" + id)));
     }
 
     @Override
-    public BookResponseDto update(Long id, PutCallBookRequestDto requestDto) {
-        Book book = bookRepository.findById(id)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOKS_BY_ISBN, key = "#isbn")
+    public BookResponseDto findByIsbn(String isbn) {
+        return lookups.byIsbn(isbn, () -> bookRepository.findResponseByIsbn(isbn)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with isbn=" + isbn)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BOOK_VERSIONS, key = "#id")
+    public long findVersion(Long id) {
+        return bookRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found with id=" + id));
-        if (requestDto.getIsbn() != null && !Objects.equals(requestDto.getIsbn(), book.getIsbn())
-                && bookRepository.existsByIsbn(requestDto.getIsbn())) {
-            throw new DuplicateResourceException("ISBN already exists");
+    }
+
+    // One statement per write: the UPDATE/DELETE hands back the previous row for the change event,
+    // and only a miss costs a second query to tell a missing book from a stale version
+    @Override
+    public BookResponseDto update(Long id, PutCallBookRequestDto requestDto, Long expectedVersion) {
+        if (isEmpty(requestDto)) {
+            BookResponseDto current = bookRepository.findResponseById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Book not found with id=" + id));
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new PreconditionFailedException("Book id=" + id + " has changed (version " + current.getVersion() + ")");
+            }
+            return current;
         }
-        if (requestDto.getTitle() != null) book.setTitle(requestDto.getTitle());
-        if (requestDto.getAuthor() != null) book.setAuthor(requestDto.getAuthor());
-        if (requestDto.getIsbn() != null) book.setIsbn(requestDto.getIsbn());
-        if (requestDto.getPublishedDate() != null) book.setPublishedDate(requestDto.getPublishedDate());
-        if (requestDto.getStatus() != null) book.setStatus(requestDto.getStatus());
-        return mapToResponse(bookRepository.save(book));
+        BookResponseDto before = bookRepository.updateReturningPrevious(id, requestDto, expectedVersion)
+                .orElseThrow(() -> missingOrChanged(id));
+        BookResponseDto updated = new BookResponseDto(before.getId(),
+                requestDto.getTitle() != null ? requestDto.getTitle() : before.getTitle(),
+                requestDto.getAuthor() != null ? requestDto.getAuthor() : before.getAuthor(),
+                requestDto.getIsbn() != null ? requestDto.getIsbn() : before.getIsbn(),
+                requestDto.getPublishedDate() != null ? requestDto.getPublishedDate() : before.getPublishedDate(),
+                requestDto.getStatus() != null ? requestDto.getStatus() : before.getStatus(),
+                before.getVersion() + 1);
+        eventPublisher.publishEvent(BookChangedEvent.updated(before, updated));
+        return updated;
     }
 
     @Override
     public void delete(Long id) {
-        if (!bookRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Book not found with id=" + id);
+        BookResponseDto deleted = bookRepository.deleteReturningPrevious(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id=" + id));
+        eventPublisher.publishEvent(BookChangedEvent.deleted(deleted));
+    }
+
+    @Override
+    public BookResponseDto checkout(Long id) {
+        return transition(id, BookStatus.AVAILABLE, BookStatus.BORROWED);
+    }
+
+    @Override
+    public BookResponseDto returnBook(Long id) {
+        return transition(id, BookStatus.BORROWED, BookStatus.AVAILABLE);
+    }
+
+    // Single conditional UPDATE; the row lock serialises concurrent callers and only the first matches
+    private BookResponseDto transition(Long id, BookStatus from, BookStatus to) {
+        if (bookRepository.transitionStatus(id, from, to) == 0) {
+            if (!bookRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Book not found with id=" + id);
+            }
+            throw new InvalidStatusTransitionException("Book id=" + id + " is not " + from);
         }
-        bookRepository.deleteById(id);
+        BookResponseDto after = bookRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id=" + id));
+        BookResponseDto before = new BookResponseDto(after.getId(), after.getTitle(), after.getAuthor(),
+                after.getIsbn(), after.getPublishedDate(), from, after.getVersion() - 1);
+        eventPublisher.publishEvent(BookChangedEvent.updated(before, after));
+        return after;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookResponseDto> findPublishedAfter(LocalDate date) {
-        return bookRepository.findAll().stream()
-                .filter(b -> b.getPublishedDate() != null && b.getPublishedDate().isAfter(date))
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
-
-    private BookResponseDto mapToResponse(Book book) {
-        return new BookResponseDto(
-                book.getId(),
-                book.getTitle(),
-                book.getAuthor(),
-                book.getIsbn(),
-                book.getPublishedDate(),
-                book.getStatus()
-        );
+    public BookPageResponseDto findPublishedAfter(LocalDate date, LocalDate before, BookStatus status,
+                                                  String cursor, int limit) {
+        checkLimit(limit);
+        if (before != null && !before.isAfter(date)) {
+            throw new IllegalArgumentException("before must be later than date");
+        }
+        BookCursor after = cursor == null ? null : BookCursor.decodePublishedDate(cursor);
+        Specification<Book> spec = BookSpecifications.publishedBetween(date, before, status);
+        if (after != null) {
+            spec = spec.and(BookSpecifications.publishedDateIdAfter(after.publishedDate(), after.id()));
+        }
+        List<BookResponseDto> rows = bookRepository.findResponses(spec, Sort.by("publishedDate", "id"), limit + 1);
+        return toPage(rows, limit, last -> BookCursor.ofPublishedDate(last.getPublishedDate(), last.getId()));
+    }
+
+    private RuntimeException missingOrChanged(Long id) {
+        return bookRepository.findVersionById(id)
+                .<RuntimeException>map(version -> new PreconditionFailedException("Book id=" + id + " has changed (version " + version + ")"))
+                .orElseGet(() -> new ResourceNotFoundException("Book not found with id=" + id));
+    }
+
+    private static boolean isEmpty(PutCallBookRequestDto requestDto) {
+        return requestDto.getTitle() == null && requestDto.getAuthor() == null && requestDto.getIsbn() == null
+                && requestDto.getPublishedDate() == null && requestDto.getStatus() == null;
+    }
+
+    private void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // Pages are fetched one row past the limit so we know whether a next cursor is needed without a count query
+    private BookPageResponseDto toPage(List<BookResponseDto> rows, int limit, Function<BookResponseDto, BookCursor> cursorOf) {
+        boolean hasMore = rows.size() > limit;
+        List<BookResponseDto> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new BookPageResponseDto(page, nextCursor);
     }
 }
 
@@ -0,0 +1,23 @@
+package com.library.management.lmsv1.common;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method in an {@link AdmissionClass}. Unannotated handlers count as {@code SCAN}
+ * for GET and HEAD and {@code WRITE} otherwise.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admission {
+
+    AdmissionClass value();
+
+    /**
+     * The response stays open for as long as the client likes (a change feed), so it is rate limited
+     * on connect but does not hold one of the class's concurrency slots.
+     */
+    boolean longLived() default false;
+}
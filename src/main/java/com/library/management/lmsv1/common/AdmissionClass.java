@@ -0,0 +1,11 @@
+package com.library.management.lmsv1.common;
+
+/** Cost classes for admission control; each has its own per-client rate and global concurrency limit. */
+public enum AdmissionClass {
+    /** Single-row reads by key, usually served from cache. */
+    LOOKUP,
+    /** Reads that touch many rows: list pages, bulk gets, search, facets, exports. */
+    SCAN,
+    /** Anything that writes. */
+    WRITE
+}
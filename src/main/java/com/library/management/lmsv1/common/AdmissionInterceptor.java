@@ -0,0 +1,58 @@
+package com.library.management.lmsv1.common;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Applies {@link AdmissionLimiter} to every handler. A rejection is thrown from {@code preHandle},
+ * so it reaches {@link GlobalExceptionHandler} like any controller exception. Clients are told
+ * apart by remote address; {@code X-Client-Id} is only believed from {@code lms.admission.trusted-proxies},
+ * so a client cannot get a fresh bucket by sending a new id.
+ *
+ * <p>A streamed response (export) keeps its slot until the async dispatch that ends it completes;
+ * {@code afterCompletion} is not called for the initial dispatch of an async request.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final AdmissionLimiter limiter;
+    private final Set<String> trustedProxies;
+
+    public AdmissionInterceptor(AdmissionLimiter limiter, Set<String> trustedProxies) {
+        this.limiter = limiter;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Admitted on the original dispatch, and the permit is still held
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Admission admission = method.getMethodAnnotation(Admission.class);
+        AdmissionClass admissionClass = admission != null ? admission.value() : defaultClass(request);
+        boolean holdSlot = admission == null || !admission.longLived();
+        request.setAttribute(PERMIT, limiter.admit(admissionClass, ClientId.of(request, trustedProxies), holdSlot));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof AdmissionLimiter.Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.release();
+        }
+    }
+
+    private static AdmissionClass defaultClass(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? AdmissionClass.SCAN : AdmissionClass.WRITE;
+    }
+}
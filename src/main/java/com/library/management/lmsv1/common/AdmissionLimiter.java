@@ -0,0 +1,134 @@
+package com.library.management.lmsv1.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Admission control in front of the API. Every request first takes a token from its client's bucket
+ * for the endpoint class, so one client cannot crowd out the rest, and then one of the class's
+ * concurrency slots, so scans together cannot exhaust the connection pool that lookups and writes
+ * also need. Either limit fails fast with {@link RateLimitedException} (429) instead of queueing.
+ *
+ * <p>Nothing here takes a lock on the request path: buckets are single compare-and-set timestamps
+ * in a concurrent map, and slots are non-blocking semaphore acquires. Each class keeps at most
+ * {@code lms.admission.max-clients} buckets, dropping the least used first, and drops those of
+ * clients idle for ten minutes, so a flood of new addresses cannot grow the map without bound.
+ */
+@Component
+@ConditionalOnProperty(name = "lms.admission.enabled", matchIfMissing = true)
+public class AdmissionLimiter {
+
+    /** A held concurrency slot; release exactly once when the request completes. */
+    public interface Permit {
+        void release();
+    }
+
+    private static final Permit NO_SLOT = () -> {};
+    private static final Duration SLOT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Map<AdmissionClass, Limit> limits = new EnumMap<>(AdmissionClass.class);
+
+    public AdmissionLimiter(@Value("${lms.admission.lookup.rate:100}") double lookupRate,
+                            @Value("${lms.admission.lookup.burst:200}") int lookupBurst,
+                            @Value("${lms.admission.lookup.concurrency:64}") int lookupConcurrency,
+                            @Value("${lms.admission.scan.rate:10}") double scanRate,
+                            @Value("${lms.admission.scan.burst:40}") int scanBurst,
+                            @Value("${lms.admission.scan.concurrency:8}") int scanConcurrency,
+                            @Value("${lms.admission.write.rate:20}") double writeRate,
+                            @Value("${lms.admission.write.burst:40}") int writeBurst,
+                            @Value("${lms.admission.write.concurrency:16}") int writeConcurrency,
+                            @Value("${lms.admission.max-clients:100000}") long maxClients,
+                            MeterRegistry meterRegistry) {
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("lms.admission.max-clients must be positive");
+        }
+        limits.put(AdmissionClass.LOOKUP, new Limit(AdmissionClass.LOOKUP, lookupRate, lookupBurst, lookupConcurrency, maxClients, meterRegistry));
+        limits.put(AdmissionClass.SCAN, new Limit(AdmissionClass.SCAN, scanRate, scanBurst, scanConcurrency, maxClients, meterRegistry));
+        limits.put(AdmissionClass.WRITE, new Limit(AdmissionClass.WRITE, writeRate, writeBurst, writeConcurrency, maxClients, meterRegistry));
+    }
+
+    /**
+     * Admits a request from {@code client} or throws {@link RateLimitedException}.
+     *
+     * @param holdSlot whether the request takes a concurrency slot; false for long-lived streams
+     */
+    public Permit admit(AdmissionClass admissionClass, String client, boolean holdSlot) {
+        Limit limit = limits.get(admissionClass);
+        long waitNanos = limit.buckets.get(client, key -> new TokenBucket(limit.rate, limit.burst, System.nanoTime()))
+                .tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            limit.rateRejections.increment();
+            throw new RateLimitedException("Rate limit exceeded for " + name(admissionClass) + " requests",
+                    Duration.ofNanos(waitNanos));
+        }
+        if (!holdSlot) {
+            return NO_SLOT;
+        }
+        if (!limit.slots.tryAcquire()) {
+            limit.concurrencyRejections.increment();
+            throw new RateLimitedException("Too many concurrent " + name(admissionClass) + " requests", SLOT_RETRY_AFTER);
+        }
+        return limit.slots::release;
+    }
+
+    // Buckets currently kept for the class, after pending evictions
+    long clients(AdmissionClass admissionClass) {
+        Cache<String, TokenBucket> buckets = limits.get(admissionClass).buckets;
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private static String name(AdmissionClass admissionClass) {
+        return admissionClass.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Limit {
+        final double rate;
+        final int burst;
+        final Semaphore slots;
+        final Cache<String, TokenBucket> buckets;
+        final Counter rateRejections;
+        final Counter concurrencyRejections;
+
+        Limit(AdmissionClass admissionClass, double rate, int burst, int concurrency, long maxClients,
+              MeterRegistry meterRegistry) {
+            String name = name(admissionClass);
+            if (rate <= 0 || burst < 1 || concurrency < 1) {
+                throw new IllegalArgumentException("lms.admission." + name + " rate, burst and concurrency must be positive");
+            }
+            this.rate = rate;
+            this.burst = burst;
+            this.slots = new Semaphore(concurrency);
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(Duration.ofMinutes(10))
+                    .maximumSize(maxClients)
+                    .build();
+            this.rateRejections = rejections(meterRegistry, name, "rate");
+            this.concurrencyRejections = rejections(meterRegistry, name, "concurrency");
+            Gauge.builder("http.admission.in_flight", slots, s -> concurrency - s.availablePermits())
+                    .description("Requests holding a concurrency slot")
+                    .tag("class", name)
+                    .register(meterRegistry);
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, String name, String reason) {
+            return Counter.builder("http.admission.rejected")
+                    .description("Requests refused with 429 by admission control")
+                    .tag("class", name)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
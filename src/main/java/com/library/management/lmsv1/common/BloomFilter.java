@@ -0,0 +1,101 @@
+package com.library.management.lmsv1.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compact set of strings that answers "definitely absent" or "possibly present". A string that was
+ * added is always reported present; one that was not is reported present with probability close to
+ * {@code falsePositiveRate} while no more than {@code expectedInsertions} strings have been added,
+ * and increasingly often beyond that. Strings cannot be removed, so a filter over a changing set is
+ * rebuilt from time to time.
+ *
+ * <p>Each string sets {@code k} bits chosen by double hashing two 64-bit hashes of its characters.
+ * Bits are set with atomic ORs, so concurrent adds and lookups need no lock; a lookup racing an add
+ * of the same string may miss it, but one that starts after the add returns sees it.
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        // Optimal size m = -n ln p / (ln 2)^2 and hash count k = m/n ln 2, rounded up to whole words
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long wordCount = (optimalBits + 63) / 64;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filter for " + expectedInsertions + " strings is too large");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bits = wordCount * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * ln2));
+    }
+
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Memory taken by the bit array. */
+    public long byteSize() {
+        return bits / 8;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    // FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer so every bit depends on every char
+    private static long hash(String value) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return mix(h);
+    }
+
+    // Odd, so successive probes h1 + i*h2 never collapse onto the same bit
+    private static long secondHash(long h1) {
+        return mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
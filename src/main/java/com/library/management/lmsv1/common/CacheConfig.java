@@ -0,0 +1,41 @@
+package com.library.management.lmsv1.common;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+// Caching advice runs ahead of the transaction advice so a cache hit never opens a transaction
+// or borrows a connection.
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String BOOKS_BY_ISBN = "booksByIsbn";
+    public static final String BOOK_VERSIONS = "bookVersions";
+
+    // Replaces Boot's Caffeine cache manager, keeping its spring.cache.* settings, so that every
+    // cache drops fills that raced with an eviction (see GuardedCaffeineCache)
+    @Bean
+    public CaffeineCacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new GuardedCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        return cacheManager;
+    }
+}
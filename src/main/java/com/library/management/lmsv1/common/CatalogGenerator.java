@@ -0,0 +1,146 @@
+package com.library.management.lmsv1.common;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills an empty catalog with {@link SyntheticBooks} for capacity and performance runs. Enabled by the
+ * {@code generate} profile, which also turns off {@link DataSeeder}:
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=generate -Dspring-boot.run.arguments=--lms.generator.rows=2000000}.
+ * Batches are inserted in parallel, each in its own transaction, and progress is logged as rows/sec.
+ *
+ * <p>Row {@code n} is inserted with id {@code n + 1} rather than an id from {@code books_seq}, which
+ * parallel batches would take in whatever order their threads ran. So the catalog, ids included, is
+ * the same for a seed whatever the thread count or batch size, and id-keyed or keyset-ordered runs
+ * see the same rows. The sequence is moved past the generated ids afterwards.
+ */
+@Component
+@Profile("generate")
+public class CatalogGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogGenerator.class);
+
+    private static final String INSERT = "insert into books (id, title, author, author_lower, isbn, published_date, status, version)"
+            + " values (?, ?, ?, ?, ?, ?, ?, 0)";
+    // Matches allocationSize on Book's books_seq: the pooled optimizer hands out the block ending at the value it reads
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long rows;
+    private final long seed;
+    private final int batchSize;
+    private final int threads;
+    private final int authors;
+    private final double borrowedRatio;
+
+    public CatalogGenerator(BookRepository bookRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${lms.generator.rows:1000000}") long rows,
+                            @Value("${lms.generator.seed:42}") long seed,
+                            @Value("${lms.generator.batch-size:1000}") int batchSize,
+                            @Value("${lms.generator.threads:4}") int threads,
+                            @Value("${lms.generator.authors:0}") int authors,
+                            @Value("${lms.generator.borrowed-ratio:0.2}") double borrowedRatio) {
+        if (rows < 0 || rows > SyntheticBooks.MAX_ROWS) {
+            throw new IllegalArgumentException("lms.generator.rows must be between 0 and " + SyntheticBooks.MAX_ROWS);
+        }
+        if (batchSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("lms.generator.batch-size and lms.generator.threads must be positive");
+        }
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rows = rows;
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.threads = threads;
+        // By default about twenty books per author on average, skewed by the Zipf distribution
+        this.authors = authors > 0 ? authors : (int) Math.max(1, Math.min(Integer.MAX_VALUE, rows / 20));
+        this.borrowedRatio = borrowedRatio;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (bookRepository.count() > 0) {
+            log.info("Catalog already populated; skipping synthetic data generation");
+            return;
+        }
+        generate();
+    }
+
+    /** Inserts {@code rows} synthetic books and returns the number inserted. */
+    public long generate() throws Exception {
+        SyntheticBooks books = new SyntheticBooks(seed, authors, borrowedRatio);
+        long batches = (rows + batchSize - 1) / batchSize;
+        long logEvery = Math.max(1, batches / 10);
+        AtomicLong inserted = new AtomicLong();
+        AtomicLong completedBatches = new AtomicLong();
+        long start = System.nanoTime();
+        log.info("Generating {} books (seed={}, authors={}, batchSize={}, threads={})", rows, seed, authors, batchSize, threads);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long batch = 0; batch < batches; batch++) {
+                long from = batch * batchSize;
+                long to = Math.min(rows, from + batchSize);
+                futures.add(pool.submit(() -> {
+                    transactionTemplate.executeWithoutResult(tx -> insert(books, from, to));
+                    inserted.addAndGet(to - from);
+                    if (completedBatches.incrementAndGet() % logEvery == 0) {
+                        log.info("{} rows ({} rows/sec)", inserted.get(), rate(inserted.get(), start));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        jdbcTemplate.execute("alter sequence books_seq restart with " + (rows + SEQUENCE_ALLOCATION));
+        log.info("Generated {} books in {} ms ({} rows/sec)", inserted.get(),
+                (System.nanoTime() - start) / 1_000_000, rate(inserted.get(), start));
+        return inserted.get();
+    }
+
+    private void insert(SyntheticBooks books, long from, long to) {
+        List<Object[]> batch = new ArrayList<>(Math.min(batchSize, 1000));
+        for (long row = from; row < to; row++) {
+            Book book = books.book(row);
+            batch.add(new Object[]{row + 1, book.getTitle(), book.getAuthor(), Book.normalizeAuthor(book.getAuthor()), book.getIsbn(),
+                    book.getPublishedDate() == null ? null : Date.valueOf(book.getPublishedDate()), book.getStatus().name()});
+            if (batch.size() == 1000) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, batch);
+        }
+    }
+
+    private static long rate(long rows, long startNanos) {
+        return Math.round(rows / Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9));
+    }
+}
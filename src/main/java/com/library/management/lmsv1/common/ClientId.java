@@ -0,0 +1,32 @@
+package com.library.management.lmsv1.common;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Set;
+
+/**
+ * Identifies the calling client. The {@code X-Client-Id} header is whatever the client says it is,
+ * so it is only taken as is where a forged value costs nothing ({@link #of(HttpServletRequest)},
+ * read-your-writes routing). Limits key on {@link #of(HttpServletRequest, Set)} instead.
+ */
+public final class ClientId {
+
+    public static final String HEADER = "X-Client-Id";
+
+    private ClientId() {}
+
+    /** The {@code X-Client-Id} header, or the remote address without one. */
+    public static String of(HttpServletRequest request) {
+        String id = request.getHeader(HEADER);
+        return id != null && !id.isBlank() ? id : request.getRemoteAddr();
+    }
+
+    /**
+     * The remote address, unless the request came from one of {@code trustedProxies}: those are
+     * trusted to pass on the {@code X-Client-Id} of the client behind them, as in {@link #of(HttpServletRequest)}.
+     */
+    public static String of(HttpServletRequest request, Set<String> trustedProxies) {
+        String address = request.getRemoteAddr();
+        return trustedProxies.contains(address) ? of(request) : address;
+    }
+}
@@ -4,12 +4,15 @@ import com.library.management.lmsv1.book.Book;
 import com.library.management.lmsv1.book.BookStatus;
 import com.library.management.lmsv1.book.repository.BookRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.util.List;
 
+// Five sample books for local runs; the "generate" profile replaces this with CatalogGenerator
 @Component
+@Profile("!generate")
 public class DataSeeder implements CommandLineRunner {
 
     private final BookRepository bookRepository;
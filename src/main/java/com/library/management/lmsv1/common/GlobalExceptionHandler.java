@@ -1,7 +1,10 @@
 package com.library.management.lmsv1.common;
 
-import com.library.management.lmsv1.book.exception.DuplicateResourceException;
+import com.library.management.lmsv1.book.exception.InvalidStatusTransitionException;
+import com.library.management.lmsv1.book.exception.PreconditionFailedException;
 import com.library.management.lmsv1.book.exception.ResourceNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -15,6 +18,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -26,11 +30,46 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return build(HttpStatus.NOT_FOUND, ex.getMessage(), request);
     }
 
-    @ExceptionHandler(DuplicateResourceException.class)
-    public ResponseEntity<Object> handleDuplicate(DuplicateResourceException ex, WebRequest request) {
+    @ExceptionHandler(InvalidStatusTransitionException.class)
+    public ResponseEntity<Object> handleInvalidTransition(InvalidStatusTransitionException ex, WebRequest request) {
         return build(HttpStatus.CONFLICT, ex.getMessage(), request);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailed(PreconditionFailedException ex, WebRequest request) {
+        return build(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request);
+    }
+
+    // A concurrent writer committed between our read and our versioned update
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLock(OptimisticLockingFailureException ex, WebRequest request) {
+        return build(HttpStatus.PRECONDITION_FAILED, "Book was modified concurrently; reload and retry", request);
+    }
+
+    // Writes rely on database constraints rather than existence pre-checks; the ISBN unique key is the
+    // one a client can hit, anything else is still a conflict with stored data
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Object> handleDataIntegrity(DataIntegrityViolationException ex, WebRequest request) {
+        String detail = String.valueOf(ex.getMostSpecificCause().getMessage()).toUpperCase(Locale.ROOT);
+        return build(HttpStatus.CONFLICT, detail.contains("ISBN") ? "ISBN already exists" : "Conflicts with existing data", request);
+    }
+
+    // Waited too long on another request's load of the same book; the database is struggling, so
+    // tell the client to come back rather than queueing more work
+    @ExceptionHandler(LoadTimeoutException.class)
+    public ResponseEntity<Object> handleLoadTimeout(LoadTimeoutException ex, WebRequest request) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+    }
+
+    // Retry-After is whole seconds, rounded up: rounding down would invite a retry that is refused again
+    @ExceptionHandler(RateLimitedException.class)
+    public ResponseEntity<Object> handleRateLimited(RateLimitedException ex, WebRequest request) {
+        long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(baseBody(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Object> handleIllegalArgument(IllegalArgumentException ex, WebRequest request) {
         return build(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
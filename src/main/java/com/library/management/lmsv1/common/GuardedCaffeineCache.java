@@ -0,0 +1,91 @@
+package com.library.management.lmsv1.common;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caffeine cache whose read-through fills cannot outlive an eviction that happened while they were
+ * loading. Every eviction advances a write generation for the key; a miss remembers the generation
+ * it saw, and the {@code put} that follows it is dropped if the generation has moved since. So a
+ * reader that loaded a row before a write committed, and finishes after the write's eviction, does
+ * not put the old row back for the whole TTL.
+ *
+ * <p>Generations are kept per stripe of keys, not per key, so memory stays fixed; an eviction only
+ * costs other keys in its stripe the fill of a load already in progress. The check and the store
+ * happen under Caffeine's lock for the key, which the eviction also takes, so an eviction either
+ * removes the value or is seen by the check. Puts not preceded by a miss on the same thread are
+ * stored as usual.
+ */
+public class GuardedCaffeineCache extends CaffeineCache {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final ThreadLocal<Miss> pending = new ThreadLocal<>();
+
+    public GuardedCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper hit = super.get(key);
+        if (hit == null) {
+            pending.set(new Miss(key, generations.get(stripe(key))));
+        }
+        return hit;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = pending.get();
+        pending.remove();
+        if (miss == null || !miss.key().equals(key)) {
+            super.put(key, value);
+            return;
+        }
+        Object stored = toStoreValue(value);
+        getNativeCache().asMap().compute(key, (k, current) ->
+                generations.get(stripe(k)) == miss.generation() ? stored : current);
+    }
+
+    @Override
+    public void evict(Object key) {
+        generations.incrementAndGet(stripe(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generations.incrementAndGet(stripe(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        advanceAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        advanceAll();
+        return super.invalidate();
+    }
+
+    private void advanceAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private record Miss(Object key, long generation) {
+    }
+}
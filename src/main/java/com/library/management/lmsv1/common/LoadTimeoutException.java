@@ -0,0 +1,5 @@
+package com.library.management.lmsv1.common;
+
+public class LoadTimeoutException extends RuntimeException {
+    public LoadTimeoutException(String message) { super(message); }
+}
@@ -0,0 +1,32 @@
+package com.library.management.lmsv1.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Everything else (HTTP timers, @Observed service timers, JDBC, Hibernate and Hikari meters) comes from
+// auto-configuration; see application.properties. The registry is optional so web slice tests still start.
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Registered with the observation registry by auto-configuration, like any ObservationHandler bean
+    @Bean
+    public RowCountingObservationHandler rowCountingObservationHandler() {
+        return new RowCountingObservationHandler();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(meters ->
+                registry.addInterceptor(new RowFetchMetricsInterceptor(meters)).addPathPatterns("/api/**"));
+    }
+}
@@ -0,0 +1,15 @@
+package com.library.management.lmsv1.common;
+
+import java.time.Duration;
+
+public class RateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() { return retryAfter; }
+}
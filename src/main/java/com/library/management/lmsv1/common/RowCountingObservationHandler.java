@@ -0,0 +1,35 @@
+package com.library.management.lmsv1.common;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import net.ttddyy.observation.tracing.ResultSetContext;
+
+/**
+ * Counts the rows read from JDBC result sets on the current thread, whether they became entities or
+ * DTO projections. Read and reset per request by {@link RowFetchMetricsInterceptor}, so an endpoint
+ * that starts reading far more rows than it returns shows up as a jump in
+ * {@code http.server.rows.fetched}. The counts come from datasource-micrometer's result-set
+ * observations, which only exist while {@code jdbc.includes} lists {@code fetch}.
+ */
+public class RowCountingObservationHandler implements ObservationHandler<ResultSetContext> {
+
+    private static final ThreadLocal<long[]> FETCHED = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void onStop(ResultSetContext context) {
+        FETCHED.get()[0] += context.getCount();
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ResultSetContext;
+    }
+
+    static void reset() {
+        FETCHED.get()[0] = 0;
+    }
+
+    static long current() {
+        return FETCHED.get()[0];
+    }
+}
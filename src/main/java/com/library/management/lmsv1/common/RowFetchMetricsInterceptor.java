@@ -0,0 +1,42 @@
+package com.library.management.lmsv1.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many rows each request's queries returned, tagged like {@code http.server.requests}.
+ * Streaming exports read on the async executor thread and are not attributed here.
+ */
+public class RowFetchMetricsInterceptor implements HandlerInterceptor {
+
+    static final String METRIC = "http.server.rows.fetched";
+
+    private final MeterRegistry meterRegistry;
+
+    public RowFetchMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RowCountingObservationHandler.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                .description("Rows read from JDBC result sets while serving the request")
+                .baseUnit("rows")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(RowCountingObservationHandler.current());
+    }
+}
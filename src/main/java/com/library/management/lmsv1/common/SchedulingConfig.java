@@ -0,0 +1,10 @@
+package com.library.management.lmsv1.common;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background maintenance such as facet counter reconciliation (lms.facets.reconcile-interval)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
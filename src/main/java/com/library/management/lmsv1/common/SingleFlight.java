@@ -0,0 +1,92 @@
+package com.library.management.lmsv1.common;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one. The first caller for a key runs the loader
+ * on its own thread; callers arriving while that load is running wait for its result, or its
+ * exception, instead of starting their own. Nothing is kept once the load finishes, so this is
+ * deduplication rather than a cache.
+ *
+ * <p>Waiting callers give up after {@code timeout} with a {@link LoadTimeoutException}; the leading
+ * caller is bounded only by the loader itself. No lock is held while a loader runs.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        this.timeout = timeout;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running == null) {
+            loads.increment();
+            try {
+                V value = loader.get();
+                mine.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+        joins.increment();
+        try {
+            return running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The leader's exception, as is, so callers see the same error whether they led or waited
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new LoadTimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for a concurrent load of " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadTimeoutException("Interrupted waiting for a concurrent load of " + key);
+        }
+    }
+
+    /**
+     * Stops later callers from joining the load currently running for {@code key}, e.g. because the
+     * data changed after it started. Callers already waiting still get that load's result.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /** Loads actually run. */
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    /** Calls served by another caller's load. */
+    public long joinCount() {
+        return joins.sum();
+    }
+
+    /** Joined calls that gave up waiting. */
+    public long timeoutCount() {
+        return timeouts.sum();
+    }
+}
@@ -0,0 +1,44 @@
+package com.library.management.lmsv1.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that encodes the body in memory first so the response carries a Content-Length.
+ * Tomcat applies {@code server.compression.min-response-size} only when it knows the length; a
+ * streamed (chunked) body is gzipped however small it is, which makes a 30-byte error larger and
+ * costs CPU for nothing. API bodies are bounded (a page is at most 500 books), and exports and the
+ * change feed write their own streams rather than going through this converter.
+ */
+public class SizedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public SizedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        // Headers are sent when the body is first opened, so the length has to be set before that
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
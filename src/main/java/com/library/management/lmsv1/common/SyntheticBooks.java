@@ -0,0 +1,124 @@
+package com.library.management.lmsv1.common;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic catalog rows. Each row depends only on the seed and its row number, so the
+ * same seed yields the same catalog whatever the batch size or number of inserting threads.
+ * Authors follow a Zipf distribution (a few prolific authors, a long tail), ISBNs are unique valid
+ * ISBN-13s, publication dates lean towards recent decades and a share of books is borrowed.
+ */
+public class SyntheticBooks {
+
+    static final long MAX_ROWS = 1_000_000_000L;
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+            "Sarah", "Charles", "Karen", "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Betty", "Mark", "Margaret",
+            "Donald", "Sandra", "Steven", "Ashley", "Paul", "Kimberly", "Andrew", "Emily", "Joshua", "Donna", "Kenneth",
+            "Michelle", "Kevin", "Carol", "Brian", "Amanda", "George", "Dorothy", "Timothy", "Melissa", "Ronald", "Deborah"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor",
+            "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez",
+            "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill",
+            "Flores", "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Gomez", "Phillips", "Evans", "Turner", "Diaz", "Parker", "Cruz", "Edwards", "Collins", "Reyes", "Stewart",
+            "Morris", "Morales", "Murphy", "Cook", "Rogers", "Gutierrez", "Ortiz", "Morgan", "Cooper", "Peterson",
+            "Bailey", "Reed", "Kelly", "Howard", "Ramos", "Kim", "Cox", "Ward", "Richardson", "Watson", "Brooks",
+            "Chavez", "Wood", "James", "Bennett", "Gray", "Mendoza", "Ruiz", "Hughes", "Price", "Alvarez", "Castillo",
+            "Sanders", "Patel", "Myers", "Long", "Ross", "Foster", "Jimenez"};
+    private static final String[] ADJECTIVES = {"Silent", "Hidden", "Broken", "Golden", "Last", "Lost", "Secret",
+            "Distant", "Practical", "Modern", "Effective", "Clean", "Patient", "Endless", "Quiet", "Burning", "Crimson",
+            "Northern", "Forgotten", "Gentle", "Invisible", "Wild", "Final", "Concurrent", "Distributed", "Applied"};
+    private static final String[] NOUNS = {"River", "Garden", "Algorithm", "Kingdom", "Mirror", "Harbor", "Empire",
+            "Winter", "Design", "Compiler", "Orchard", "Signal", "Lantern", "Archive", "Frontier", "System", "Library",
+            "Machine", "Ocean", "Forest", "Protocol", "Network", "Island", "Memory", "Pattern", "Theory", "Journey"};
+
+    // Multiplying by a number coprime to 10^9 permutes 0..10^9-1, so ISBN bodies stay unique but look scattered
+    private static final long ISBN_MULTIPLIER = 387_420_489L;
+    private static final double ZIPF_EXPONENT = 1.07;
+
+    private final long seed;
+    private final double borrowedRatio;
+    private final double[] authorCdf;
+
+    public SyntheticBooks(long seed, int authors, double borrowedRatio) {
+        if (authors < 1) throw new IllegalArgumentException("authors must be positive");
+        this.seed = seed;
+        this.borrowedRatio = borrowedRatio;
+        this.authorCdf = new double[authors];
+        double sum = 0;
+        for (int rank = 1; rank <= authors; rank++) {
+            sum += 1 / Math.pow(rank, ZIPF_EXPONENT);
+            authorCdf[rank - 1] = sum;
+        }
+        for (int i = 0; i < authors; i++) authorCdf[i] /= sum;
+    }
+
+    public Book book(long row) {
+        if (row < 0 || row >= MAX_ROWS) throw new IllegalArgumentException("row out of range: " + row);
+        SplittableRandom rnd = new SplittableRandom(mix(seed ^ mix(row + 1)));
+        return new Book(title(rnd), author(authorRank(rnd.nextDouble())), isbn(row), publishedDate(rnd),
+                rnd.nextDouble() < borrowedRatio ? BookStatus.BORROWED : BookStatus.AVAILABLE);
+    }
+
+    static String isbn(long row) {
+        String body = "978" + String.format("%09d", (row * ISBN_MULTIPLIER) % MAX_ROWS);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (body.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return body + (10 - sum % 10) % 10;
+    }
+
+    // Rank 0 is the most prolific author
+    int authorRank(double uniform) {
+        int index = Arrays.binarySearch(authorCdf, uniform);
+        return Math.min(index >= 0 ? index : -index - 1, authorCdf.length - 1);
+    }
+
+    static String author(int rank) {
+        int names = FIRST_NAMES.length * LAST_NAMES.length;
+        String name = FIRST_NAMES[rank % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(rank / FIRST_NAMES.length) % LAST_NAMES.length];
+        int generation = rank / names;
+        if (generation == 0) return name;
+        // Middle initials, then a numeral, keep names unique well past the first/last name combinations
+        return generation <= 26
+                ? name.replace(" ", " " + (char) ('A' + generation - 1) + ". ")
+                : name + " " + (generation - 26);
+    }
+
+    private static String title(SplittableRandom rnd) {
+        String adjective = ADJECTIVES[rnd.nextInt(ADJECTIVES.length)];
+        String noun = NOUNS[rnd.nextInt(NOUNS.length)];
+        String other = NOUNS[rnd.nextInt(NOUNS.length)];
+        return switch (rnd.nextInt(4)) {
+            case 0 -> "The " + adjective + " " + noun;
+            case 1 -> noun + " of the " + adjective + " " + other;
+            case 2 -> adjective + " " + noun + ", Volume " + (1 + rnd.nextInt(5));
+            default -> noun + " and " + other;
+        };
+    }
+
+    // Two percent undated; otherwise 70% within the last 30 years, the rest back to 1900
+    private static LocalDate publishedDate(SplittableRandom rnd) {
+        double dice = rnd.nextDouble();
+        if (dice < 0.02) return null;
+        LocalDate start = dice < 0.72 ? LocalDate.of(1995, 1, 1) : LocalDate.of(1900, 1, 1);
+        LocalDate end = dice < 0.72 ? LocalDate.of(2025, 1, 1) : LocalDate.of(1995, 1, 1);
+        return start.plusDays(rnd.nextLong(end.toEpochDay() - start.toEpochDay()));
+    }
+
+    // SplitMix64 finalizer: spreads consecutive row numbers into unrelated generator seeds
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,41 @@
+package com.library.management.lmsv1.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp (the generic cell rate algorithm): the time at which the
+ * bucket would be empty if every admitted request had taken a token. Admitting is one
+ * compare-and-set, so concurrent requests from the same client never block each other.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong emptyAt;
+
+    /**
+     * @param ratePerSecond tokens added per second
+     * @param burst         bucket size, the requests admitted back to back after an idle period
+     */
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.emptyAt = new AtomicLong(nowNanos);
+    }
+
+    /** Takes a token and returns 0, or returns the nanoseconds until one will be available. */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = emptyAt.get();
+            // A bucket idle long enough is simply full; credit does not accumulate past the burst
+            long from = current - nowNanos > 0 ? current : nowNanos;
+            long early = from - nowNanos - toleranceNanos;
+            if (early > 0) {
+                return early;
+            }
+            if (emptyAt.compareAndSet(current, from + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.library.management.lmsv1.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.lmsv1.book.replica.ReplicaClientInterceptor;
+import com.library.management.lmsv1.book.replica.ReplicaSet;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+
+// The limiter and replicas are optional (lms.admission.enabled=false, no lms.datasource.replicas,
+// web slice tests), like the registry in MetricsConfig
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<AdmissionLimiter> admissionLimiter;
+    private final ObjectProvider<ReplicaSet> replicaSet;
+    private final Set<String> trustedProxies;
+
+    public WebConfig(ObjectProvider<AdmissionLimiter> admissionLimiter, ObjectProvider<ReplicaSet> replicaSet,
+                     @Value("${lms.admission.trusted-proxies:}") Set<String> trustedProxies) {
+        this.admissionLimiter = admissionLimiter;
+        this.replicaSet = replicaSet;
+        this.trustedProxies = trustedProxies;
+    }
+
+    // Replaces Boot's default JSON converter; the CBOR and Smile converters are still auto-configured
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new SizedJsonHttpMessageConverter(objectMapper);
+    }
+
+    // First, so a rejected request costs nothing else
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        admissionLimiter.ifAvailable(limiter -> registry.addInterceptor(new AdmissionInterceptor(limiter, trustedProxies))
+                .addPathPatterns("/api/**")
+                .order(Ordered.HIGHEST_PRECEDENCE));
+        replicaSet.ifAvailable(replicas -> registry.addInterceptor(new ReplicaClientInterceptor(replicas))
+                .addPathPatterns("/api/**"));
+    }
+}
@@ -1,11 +1,34 @@
 package com.library.management.lmsv1.book.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookBulkGetItemDto;
+import com.library.management.lmsv1.book.dto.BookBulkGetResultDto;
+import com.library.management.lmsv1.book.dto.BookBulkItemDto;
+import com.library.management.lmsv1.book.dto.BookBulkOutcome;
+import com.library.management.lmsv1.book.dto.BookBulkRequestDto;
+import com.library.management.lmsv1.book.dto.BookBulkResultDto;
+import com.library.management.lmsv1.book.dto.BookFacetsDto;
+import com.library.management.lmsv1.book.dto.BookImportResultDto;
+import com.library.management.lmsv1.book.dto.BookPageResponseDto;
 import com.library.management.lmsv1.book.dto.BookRequestDto;
 import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.BookSearchHitDto;
 import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
+import com.library.management.lmsv1.book.exception.InvalidStatusTransitionException;
+import com.library.management.lmsv1.book.exception.PreconditionFailedException;
 import com.library.management.lmsv1.book.exception.ResourceNotFoundException;
+import com.library.management.lmsv1.book.feed.BookChangeFeed;
+import com.library.management.lmsv1.book.service.BookBulkService;
+import com.library.management.lmsv1.book.service.BookChangeFeedService;
+import com.library.management.lmsv1.book.service.BookExportFormat;
+import com.library.management.lmsv1.book.service.BookExportService;
+import com.library.management.lmsv1.book.service.BookFacetService;
+import com.library.management.lmsv1.book.service.BookImportService;
+import com.library.management.lmsv1.book.service.BookSearchService;
 import com.library.management.lmsv1.book.service.BookService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,13 +36,20 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
@@ -38,8 +68,26 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookImportService bookImportService;
+
+    @MockBean
+    private BookExportService bookExportService;
+
+    @MockBean
+    private BookSearchService bookSearchService;
+
+    @MockBean
+    private BookFacetService bookFacetService;
+
+    @MockBean
+    private BookBulkService bookBulkService;
+
+    @MockBean
+    private BookChangeFeedService bookChangeFeedService;
+
     private BookResponseDto sample(Long id) {
-        return new BookResponseDto(id, "Title"+id, "Author", "ISBN"+id, LocalDate.of(2020,1,1), BookStatus.AVAILABLE);
+        return new BookResponseDto(id, "Title"+id, "Author", "ISBN"+id, LocalDate.of(2020,1,1), BookStatus.AVAILABLE, 2L);
     }
 
     @Test
@@ -69,15 +117,49 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.message", containsString("Validation failed")));
     }
 
+    @Test
+    @DisplayName("POST with an ISBN longer than its column returns 400, not a 409 from the database")
+    void createLongIsbn400() throws Exception {
+        BookRequestDto req = new BookRequestDto("Title", "Author", "9".repeat(31), null, null);
+        mockMvc.perform(post("/api/v1/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.isbn").value("ISBN must be at most 30 characters"));
+        Mockito.verify(bookService, Mockito.never()).create(any());
+    }
+
     @Test
     @DisplayName("GET /{id} 200 OK")
     void getById200() throws Exception {
         given(bookService.findById(5L)).willReturn(sample(5L));
         mockMvc.perform(get("/api/v1/books/5"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
                 .andExpect(jsonPath("$.id").value(5));
     }
 
+    @Test
+    @DisplayName("GET /{id} with matching If-None-Match returns 304 without loading the book")
+    void getById304() throws Exception {
+        given(bookService.findVersion(5L)).willReturn(2L);
+        mockMvc.perform(get("/api/v1/books/5").header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(content().string(""));
+        Mockito.verify(bookService, Mockito.never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("GET /{id} with stale If-None-Match returns the book")
+    void getByIdStaleEtag200() throws Exception {
+        given(bookService.findVersion(5L)).willReturn(2L);
+        given(bookService.findById(5L)).willReturn(sample(5L));
+        mockMvc.perform(get("/api/v1/books/5").header("If-None-Match", "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
     @Test
     @DisplayName("GET /{id} not found 404")
     void getById404() throws Exception {
@@ -87,13 +169,43 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.status").value(404));
     }
 
+    @Test
+    @DisplayName("GET /isbn/{isbn} 200 OK")
+    void getByIsbn200() throws Exception {
+        given(bookService.findByIsbn("ISBN5")).willReturn(sample(5L));
+        mockMvc.perform(get("/api/v1/books/isbn/ISBN5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isbn").value("ISBN5"));
+    }
+
     @Test
     @DisplayName("GET list with filters")
     void getListFiltered() throws Exception {
-        given(bookService.findAll("Author", BookStatus.AVAILABLE)).willReturn(List.of(sample(1L), sample(2L)));
+        given(bookService.findAll("Author", BookStatus.AVAILABLE, null, 50))
+                .willReturn(new BookPageResponseDto(List.of(sample(1L), sample(2L)), "next"));
         mockMvc.perform(get("/api/v1/books").param("author","Author").param("status","AVAILABLE"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("GET list passes cursor and limit through")
+    void getListWithCursor() throws Exception {
+        given(bookService.findAll(null, null, "abc", 2)).willReturn(new BookPageResponseDto(List.of(sample(3L)), null));
+        mockMvc.perform(get("/api/v1/books").param("cursor","abc").param("limit","2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET list with bad paging returns 400")
+    void getListBadPaging400() throws Exception {
+        given(bookService.findAll(null, null, null, 0)).willThrow(new IllegalArgumentException("limit must be between 1 and 500"));
+        mockMvc.perform(get("/api/v1/books").param("limit","0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
     }
 
     @Test
@@ -101,13 +213,103 @@ class BookControllerTest {
     void update200() throws Exception {
         BookRequestDto req = new BookRequestDto("Upd", "Auth", "ISBN1", LocalDate.of(2023,1,1), BookStatus.BORROWED);
         BookResponseDto updated = new BookResponseDto(1L, req.getTitle(), req.getAuthor(), req.getIsbn(), req.getPublishedDate(), req.getStatus());
-        given(bookService.update(eq(1L), any(PutCallBookRequestDto.class))).willReturn(updated);
+        given(bookService.update(eq(1L), any(PutCallBookRequestDto.class), isNull())).willReturn(updated);
         mockMvc.perform(put("/api/v1/books/1").contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("BORROWED"));
     }
 
+    @Test
+    @DisplayName("PUT with a blank title or author returns 400 without updating")
+    void updateBlank400() throws Exception {
+        mockMvc.perform(put("/api/v1/books/1").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"\",\"author\":\" \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.title").value("Title must not be blank"))
+                .andExpect(jsonPath("$.errors.author").value("Author must not be blank"));
+        Mockito.verify(bookService, Mockito.never()).update(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("PUT accepts a multi-line title but rejects an ISBN longer than its column")
+    void updateFieldRules() throws Exception {
+        given(bookService.update(eq(1L), any(PutCallBookRequestDto.class), any())).willReturn(sample(1L));
+        mockMvc.perform(put("/api/v1/books/1").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"First line\\nSecond line\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/books/1").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"isbn\":\"" + "9".repeat(31) + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.isbn").value("ISBN must be at most 30 characters"));
+    }
+
+    @Test
+    @DisplayName("PUT with stale If-Match returns 412")
+    void updateStaleIfMatch412() throws Exception {
+        given(bookService.update(eq(1L), any(PutCallBookRequestDto.class), eq(1L)))
+                .willThrow(new PreconditionFailedException("Book id=1 has changed (version 2)"));
+        mockMvc.perform(put("/api/v1/books/1").header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"BORROWED\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    @DisplayName("PUT with a weak If-Match tag returns 412 without updating")
+    void updateWeakIfMatch412() throws Exception {
+        mockMvc.perform(put("/api/v1/books/1").header("If-Match", "W/\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"BORROWED\"}"))
+                .andExpect(status().isPreconditionFailed());
+        Mockito.verify(bookService, Mockito.never()).update(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET list with matching If-None-Match returns 304")
+    void getList304() throws Exception {
+        given(bookService.findAll(null, null, null, 50)).willReturn(new BookPageResponseDto(List.of(sample(1L)), null));
+        String etag = mockMvc.perform(get("/api/v1/books"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/v1/books").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("POST checkout returns the borrowed book")
+    void checkout200() throws Exception {
+        BookResponseDto borrowed = sample(4L);
+        borrowed.setStatus(BookStatus.BORROWED);
+        given(bookService.checkout(4L)).willReturn(borrowed);
+        mockMvc.perform(post("/api/v1/books/4/checkout"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("BORROWED"));
+    }
+
+    @Test
+    @DisplayName("POST with an ISBN rejected by the unique constraint returns 409")
+    void createDuplicateIsbn409() throws Exception {
+        given(bookService.create(any(BookRequestDto.class))).willThrow(new DataIntegrityViolationException("insert",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_BOOKS_ISBN ON PUBLIC.BOOKS(ISBN)\"")));
+        BookRequestDto req = new BookRequestDto("T", "A", "DUP", null, BookStatus.AVAILABLE);
+        mockMvc.perform(post("/api/v1/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("ISBN already exists"));
+    }
+
+    @Test
+    @DisplayName("POST return of an available book returns 409")
+    void return409() throws Exception {
+        given(bookService.returnBook(4L)).willThrow(new InvalidStatusTransitionException("Book id=4 is not BORROWED"));
+        mockMvc.perform(post("/api/v1/books/4/return"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Book id=4 is not BORROWED"));
+    }
+
     @Test
     @DisplayName("DELETE returns 204")
     void delete204() throws Exception {
@@ -129,9 +331,183 @@ class BookControllerTest {
     @Test
     @DisplayName("GET published-after uses date param")
     void publishedAfter() throws Exception {
-        given(bookService.findPublishedAfter(LocalDate.of(2022,1,1))).willReturn(List.of(sample(10L)));
+        given(bookService.findPublishedAfter(LocalDate.of(2022,1,1), null, null, null, 50))
+                .willReturn(new BookPageResponseDto(List.of(sample(10L)), null));
         mockMvc.perform(get("/api/v1/books/published-after").param("date", "2022-01-01"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(10));
+                .andExpect(jsonPath("$.items[0].id").value(10));
+    }
+
+    @Test
+    @DisplayName("GET published-after passes before and status bounds")
+    void publishedAfterBounded() throws Exception {
+        given(bookService.findPublishedAfter(LocalDate.of(2000,1,1), LocalDate.of(2010,1,1), BookStatus.BORROWED, null, 50))
+                .willReturn(new BookPageResponseDto(List.of(sample(11L)), null));
+        mockMvc.perform(get("/api/v1/books/published-after")
+                        .param("date", "2000-01-01").param("before", "2010-01-01").param("status", "BORROWED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(11));
+    }
+
+    @Test
+    @DisplayName("GET published-after with malformed date returns 400")
+    void publishedAfterBadDate400() throws Exception {
+        mockMvc.perform(get("/api/v1/books/published-after").param("date", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST import accepts NDJSON and returns the import summary")
+    void importNdjson() throws Exception {
+        BookImportResultDto result = new BookImportResultDto();
+        result.setReceived(2);
+        result.setImported(2);
+        given(bookImportService.importBooks(any(), eq(100))).willReturn(result);
+        mockMvc.perform(post("/api/v1/books/import").param("batchSize", "100")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"A\",\"author\":\"B\"}\n{\"title\":\"C\",\"author\":\"D\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+    }
+
+    @Test
+    @DisplayName("GET export streams the requested format")
+    void exportCsv() throws Exception {
+        given(bookExportService.export(eq(BookExportFormat.CSV), any(OutputStream.class))).willAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,title\n1,T\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        MvcResult result = mockMvc.perform(get("/api/v1/books/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("text/csv")))
+                .andExpect(content().string("id,title\n1,T\n"));
+    }
+
+    @Test
+    @DisplayName("GET export with unknown format returns 400")
+    void exportUnknownFormat400() throws Exception {
+        mockMvc.perform(get("/api/v1/books/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET search returns ranked hits")
+    void search200() throws Exception {
+        given(bookSearchService.search("refact", 20)).willReturn(List.of(new BookSearchHitDto(2.5, sample(4L))));
+
+        mockMvc.perform(get("/api/v1/books/search").param("q", "refact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].score").value(2.5))
+                .andExpect(jsonPath("$[0].book.id").value(4));
+    }
+
+    @Test
+    @DisplayName("GET search without q returns 400")
+    void searchMissingQuery400() throws Exception {
+        mockMvc.perform(get("/api/v1/books/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET facets returns counts by status, author and year")
+    void facets200() throws Exception {
+        given(bookFacetService.facets(5)).willReturn(new BookFacetsDto(3,
+                Map.of(BookStatus.AVAILABLE, 2L, BookStatus.BORROWED, 1L),
+                Map.of("Author", 3L), Map.of("2020", 3L), "counters"));
+
+        mockMvc.perform(get("/api/v1/books/facets").param("topAuthors", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.BORROWED").value(1))
+                .andExpect(jsonPath("$.byAuthor.Author").value(3))
+                .andExpect(jsonPath("$.byPublicationYear.2020").value(3))
+                .andExpect(jsonPath("$.source").value("counters"));
+    }
+
+    @Test
+    @DisplayName("POST bulk status returns per-key outcomes")
+    void bulkStatus200() throws Exception {
+        BookBulkResultDto result = new BookBulkResultDto();
+        result.setRequested(2);
+        result.setChanged(1);
+        result.setItems(List.of(new BookBulkItemDto(1L, "I-1", BookBulkOutcome.UPDATED, 3L),
+                new BookBulkItemDto(null, "NOPE", BookBulkOutcome.NOT_FOUND, null)));
+        given(bookBulkService.updateStatus(any(BookBulkRequestDto.class))).willReturn(result);
+
+        mockMvc.perform(post("/api/v1/books/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1],\"isbns\":[\"NOPE\"],\"status\":\"AVAILABLE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed").value(1))
+                .andExpect(jsonPath("$.items[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.items[1].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("POST bulk get returns books and not-found markers in request order")
+    void bulkGet200() throws Exception {
+        BookBulkGetResultDto result = new BookBulkGetResultDto();
+        result.setRequested(2);
+        result.setFound(1);
+        result.setItems(List.of(new BookBulkGetItemDto(1L, null, BookBulkOutcome.FOUND, sample(1L)),
+                new BookBulkGetItemDto(null, "NOPE", BookBulkOutcome.NOT_FOUND, null)));
+        given(bookBulkService.get(any(BookBulkRequestDto.class))).willReturn(result);
+
+        mockMvc.perform(post("/api/v1/books/bulk/get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1],\"isbns\":[\"NOPE\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found").value(1))
+                .andExpect(jsonPath("$.items[0].outcome").value("FOUND"))
+                .andExpect(jsonPath("$.items[0].book.title").value("Title1"))
+                .andExpect(jsonPath("$.items[1].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.items[1].book").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST bulk delete with no keys returns 400")
+    void bulkDeleteEmpty400() throws Exception {
+        given(bookBulkService.delete(any(BookBulkRequestDto.class)))
+                .willThrow(new IllegalArgumentException("ids or isbns must not be empty"));
+
+        mockMvc.perform(post("/api/v1/books/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET changes opens an event stream resuming from Last-Event-ID")
+    void changesStream() throws Exception {
+        given(bookChangeFeedService.subscribe(eq(41L), any(BookChangeFeed.Sink.class)))
+                .willReturn(() -> {});
+
+        mockMvc.perform(get("/api/v1/books/changes").header("Last-Event-ID", "41"))
+                .andExpect(request().asyncStarted());
+        Mockito.verify(bookChangeFeedService).subscribe(eq(41L), any(BookChangeFeed.Sink.class));
+    }
+
+    @Test
+    @DisplayName("GET list negotiates CBOR and Smile encodings of the same page")
+    void listBinaryFormats() throws Exception {
+        given(bookService.findAll(null, null, null, 50))
+                .willReturn(new BookPageResponseDto(List.of(sample(1L), sample(2L)), "next"));
+
+        for (ObjectMapper binary : List.of(new CBORMapper(), new SmileMapper())) {
+            String mediaType = binary instanceof CBORMapper ? "application/cbor" : "application/x-jackson-smile";
+            MvcResult result = mockMvc.perform(get("/api/v1/books").accept(mediaType))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(mediaType))
+                    .andReturn();
+            JsonNode page = binary.readTree(result.getResponse().getContentAsByteArray());
+            assertEquals(2, page.get("items").size());
+            assertEquals("next", page.get("nextCursor").asText());
+            assertEquals(2, page.get("items").get(1).get("id").asLong());
+        }
     }
 }
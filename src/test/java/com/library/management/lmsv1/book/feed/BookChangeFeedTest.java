@@ -0,0 +1,201 @@
+package com.library.management.lmsv1.book.feed;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookChangeDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookChangeFeedTest {
+
+    private BookChangeFeed feed = new BookChangeFeed(100, 100, Duration.ofSeconds(30));
+
+    @AfterEach
+    void close() {
+        feed.close();
+    }
+
+    private static BookChangedEvent created(long id) {
+        return BookChangedEvent.created(new BookResponseDto(id, "T" + id, "A", "I-" + id, LocalDate.of(2020,1,1),
+                BookStatus.AVAILABLE, 0L));
+    }
+
+    // Book 1 going from version n - 1 to n
+    private static BookChangedEvent updated(long version) {
+        return BookChangedEvent.updated(
+                new BookResponseDto(1L, "T1", "A", "I-1", LocalDate.of(2020,1,1), BookStatus.AVAILABLE, version - 1),
+                new BookResponseDto(1L, "T1", "A", "I-1", LocalDate.of(2020,1,1), BookStatus.BORROWED, version));
+    }
+
+    private List<Long> append(int count) {
+        List<Long> sequences = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            feed.append(created(i));
+            sequences.add(feed.lastSequence());
+        }
+        return sequences;
+    }
+
+    private static List<String> take(RecordingSink sink, int count) throws InterruptedException {
+        List<String> received = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String next = sink.received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next, "timed out after " + received);
+            received.add(next);
+        }
+        return received;
+    }
+
+    private static List<String> sent(List<Long> sequences) {
+        return sequences.stream().map(String::valueOf).toList();
+    }
+
+    @Test
+    @DisplayName("Live subscribers receive changes in sequence order")
+    void liveChangesInOrder() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(null, sink);
+        List<Long> sequences = append(3);
+        assertEquals(sequences.get(0) + 2, sequences.get(2));
+        assertEquals(sent(sequences), take(sink, 3));
+        assertEquals(sequences.get(2), feed.lastSequence());
+    }
+
+    @Test
+    @DisplayName("Reserved changes are numbered and delivered in reservation order, whichever publishes first")
+    void reservationOrder() throws Exception {
+        RecordingSink sink = new RecordingSink() {
+            @Override
+            public void send(BookChangeDto change) {
+                received.add("v" + change.getBook().getVersion());
+            }
+        };
+        feed.subscribe(null, sink);
+        long before = feed.lastSequence();
+        BookChangeFeed.Reservation first = feed.reserve();
+        BookChangeFeed.Reservation rolledBack = feed.reserve();
+        BookChangeFeed.Reservation second = feed.reserve();
+
+        feed.publish(second, List.of(updated(3)));
+        feed.publish(rolledBack, List.of());
+        assertEquals(before, feed.lastSequence(), "held back behind the first reservation");
+        feed.publish(first, List.of(updated(2)));
+
+        assertEquals(List.of("v2", "v3"), take(sink, 2));
+        assertEquals(before + 2, feed.lastSequence());
+    }
+
+    @Test
+    @DisplayName("Resuming replays buffered changes after the offset, then continues live")
+    void resumeFromOffset() throws Exception {
+        List<Long> sequences = append(5);
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(sequences.get(1), sink);
+        feed.append(created(6));
+        long live = feed.lastSequence();
+        assertEquals(List.of(String.valueOf(sequences.get(2)), String.valueOf(sequences.get(3)),
+                String.valueOf(sequences.get(4)), String.valueOf(live)), take(sink, 4));
+    }
+
+    @Test
+    @DisplayName("Offsets older than the buffer or never issued reset to the current position")
+    void staleOffsetResets() throws Exception {
+        feed = new BookChangeFeed(3, 100, Duration.ofSeconds(30));
+        List<Long> sequences = append(5);
+        long last = sequences.get(4);
+
+        RecordingSink tooOld = new RecordingSink();
+        feed.subscribe(sequences.get(0), tooOld);
+        assertEquals(List.of("reset:" + last), take(tooOld, 1));
+
+        RecordingSink fromBeforeRestart = new RecordingSink();
+        feed.subscribe(last + 1000, fromBeforeRestart);
+        assertEquals(List.of("reset:" + last), take(fromBeforeRestart, 1));
+
+        RecordingSink oldestBuffered = new RecordingSink();
+        feed.subscribe(sequences.get(1), oldestBuffered);
+        assertEquals(sent(sequences.subList(2, 5)), take(oldestBuffered, 3));
+    }
+
+    @Test
+    @DisplayName("A subscriber that falls behind is disconnected without holding up writers or others")
+    void slowSubscriberDropped() throws Exception {
+        feed = new BookChangeFeed(100, 2, Duration.ofSeconds(30));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink() {
+            @Override
+            public void send(BookChangeDto change) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        RecordingSink fast = new RecordingSink();
+        feed.subscribe(null, slow);
+        feed.subscribe(null, fast);
+
+        List<Long> sequences = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            feed.append(created(i));
+            sequences.add(feed.lastSequence());
+            assertEquals(sent(sequences.subList(i - 1, i)), take(fast, 1)); // keeps the fast subscriber's queue short
+        }
+        assertEquals(1, feed.droppedCount());
+        assertEquals(1, feed.subscriberCount());
+
+        release.countDown();
+        assertTrue(slow.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, fast.closed.getCount());
+    }
+
+    @Test
+    @DisplayName("Cancelled subscriptions are closed and stop receiving")
+    void cancel() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        BookChangeFeed.Subscription subscription = feed.subscribe(null, sink);
+        subscription.cancel();
+        assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+        append(1);
+        assertEquals(0, feed.subscriberCount());
+        assertNull(sink.received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    static class RecordingSink implements BookChangeFeed.Sink {
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void send(BookChangeDto change) {
+            received.add(String.valueOf(change.getSequence()));
+        }
+
+        @Override
+        public void reset(long sequence) {
+            received.add("reset:" + sequence);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
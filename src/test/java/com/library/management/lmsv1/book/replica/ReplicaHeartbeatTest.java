@@ -0,0 +1,70 @@
+package com.library.management.lmsv1.book.replica;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookRequestDto;
+import com.library.management.lmsv1.book.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// replica-1 is the primary's own database, so it is always caught up; replica-2 is an empty
+// database that never receives the heartbeat row
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:heartbeatprimary;DB_CLOSE_DELAY=-1",
+        "lms.datasource.replicas=jdbc:h2:mem:heartbeatprimary;DB_CLOSE_DELAY=-1,jdbc:h2:mem:heartbeatempty;DB_CLOSE_DELAY=-1",
+        "lms.datasource.replica-max-lag=PT10S",
+        "lms.datasource.replica-heartbeat=PT0.02S"})
+class ReplicaHeartbeatTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ReplicaSet replicaSet;
+
+    @AfterEach
+    void unbind() {
+        replicaSet.unbindClient();
+    }
+
+    @Test
+    @DisplayName("A replica showing the heartbeat takes reads; one without it stays out of rotation")
+    void readyFromHeartbeat() throws Exception {
+        Replica caughtUp = replicaSet.replicas().get(0);
+        await(() -> caughtUp.ready, "replica-1 never saw the heartbeat");
+        assertFalse(replicaSet.replicas().get(1).ready);
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-1", replicaSet.routeRead());
+        }
+    }
+
+    @Test
+    @DisplayName("A writer stays on the primary until the replica shows a beat written after its change")
+    void readYourWrites() throws Exception {
+        Replica caughtUp = replicaSet.replicas().get(0);
+        await(() -> caughtUp.ready, "replica-1 never saw the heartbeat");
+        replicaSet.bindClient("writer");
+        bookService.create(new BookRequestDto("Beat", "Heartbeat Author", "HEARTBEAT-1", LocalDate.of(2024, 1, 1), BookStatus.AVAILABLE));
+
+        assertEquals(ReplicaSet.PRIMARY, replicaSet.routeRead());
+        await(() -> caughtUp.pending.isEmpty(), "replica-1 never showed the write");
+        assertEquals("replica-1", replicaSet.routeRead());
+        assertEquals(1, bookService.findAll("Heartbeat Author", null, null, 10).getItems().size());
+    }
+
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(10);
+        }
+    }
+}
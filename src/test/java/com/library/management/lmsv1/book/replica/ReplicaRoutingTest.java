@@ -0,0 +1,81 @@
+package com.library.management.lmsv1.book.replica;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookRequestDto;
+import com.library.management.lmsv1.book.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingprimary;DB_CLOSE_DELAY=-1",
+        "lms.datasource.replicas=jdbc:h2:mem:routingreplica1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:routingreplica2;DB_CLOSE_DELAY=-1",
+        "lms.datasource.replica-max-lag=PT10S",
+        "lms.datasource.replica-simulation=true"})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ReplicaSet replicaSet;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void unbind() {
+        replicaSet.unbindClient();
+    }
+
+    @Test
+    @DisplayName("Replicas start with a copy of the primary and serve read-only queries round robin")
+    void readsGoToReplicas() throws Exception {
+        awaitReady();
+        double before = routed("replica-1") + routed("replica-2");
+        for (int i = 0; i < 4; i++) {
+            assertFalse(bookService.findAll(null, null, null, 50).getItems().isEmpty());
+        }
+        assertEquals(before + 4, routed("replica-1") + routed("replica-2"));
+        assertTrue(routed("replica-1") > 0 && routed("replica-2") > 0);
+    }
+
+    @Test
+    @DisplayName("A client reads its own write from the primary until the replicas have applied it")
+    void readYourWrites() throws Exception {
+        awaitReady();
+        replicaSet.bindClient("writer");
+        bookService.create(new BookRequestDto("Fresh", "Replica Author", "REPLICA-1", LocalDate.of(2024, 1, 1), BookStatus.AVAILABLE));
+
+        long appliedBy = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (replicaSet.replicas().stream().anyMatch(r -> r.appliedPosition == 0) && System.nanoTime() < appliedBy) {
+            // Until both replicas apply it, the writer is sent to the primary and still sees the book
+            assertEquals(1, bookService.findAll("Replica Author", null, null, 10).getItems().size());
+            Thread.sleep(5);
+        }
+        replicaSet.unbindClient();
+        for (int i = 0; i < 2; i++) {
+            assertEquals(1, bookService.findAll("Replica Author", null, null, 10).getItems().size());
+        }
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!replicaSet.replicas().stream().allMatch(r -> r.ready)) {
+            assertTrue(System.nanoTime() < deadline, "replicas not loaded");
+            Thread.sleep(10);
+        }
+    }
+
+    private double routed(String replica) {
+        return meterRegistry.get("db.reads.routed").tag("target", replica).counter().count();
+    }
+}
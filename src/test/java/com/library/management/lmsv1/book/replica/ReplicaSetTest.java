@@ -0,0 +1,68 @@
+package com.library.management.lmsv1.book.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaSetTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Replica first = new Replica("replica-1", new DriverManagerDataSource());
+    private final Replica second = new Replica("replica-2", new DriverManagerDataSource());
+    private final ReplicaSet replicaSet = new ReplicaSet(new DriverManagerDataSource(), List.of(first, second),
+            Duration.ofSeconds(1), meterRegistry);
+
+    @Test
+    @DisplayName("Reads stay on the primary until a replica has its initial copy, then alternate")
+    void roundRobinOverReadyReplicas() {
+        assertEquals(ReplicaSet.PRIMARY, replicaSet.routeRead());
+        first.ready = true;
+        second.ready = true;
+        String a = replicaSet.routeRead();
+        String b = replicaSet.routeRead();
+        assertNotEquals(a, b);
+        assertEquals(1, routed(ReplicaSet.PRIMARY, "not_ready"));
+    }
+
+    @Test
+    @DisplayName("A replica further behind than the allowed lag is skipped")
+    void laggingReplicaSkipped() {
+        first.ready = true;
+        second.ready = true;
+        first.pending.add(new Replica.Change(1, System.nanoTime() - Duration.ofSeconds(5).toNanos(), null));
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-2", replicaSet.routeRead());
+        }
+        second.pending.add(new Replica.Change(1, System.nanoTime() - Duration.ofSeconds(5).toNanos(), null));
+        assertEquals(ReplicaSet.PRIMARY, replicaSet.routeRead());
+        assertEquals(1, routed(ReplicaSet.PRIMARY, "lagging"));
+    }
+
+    @Test
+    @DisplayName("A client that wrote reads from the primary until a replica has applied its write")
+    void readYourWrites() {
+        first.ready = true;
+        second.ready = true;
+        replicaSet.bindClient("alice");
+        replicaSet.recordWrite(7);
+        assertEquals(ReplicaSet.PRIMARY, replicaSet.routeRead());
+        assertEquals(1, routed(ReplicaSet.PRIMARY, "own_write"));
+
+        second.appliedPosition = 7;
+        assertEquals("replica-2", replicaSet.routeRead());
+        // Other clients are not held back by alice's write
+        replicaSet.bindClient("bob");
+        assertNotEquals(ReplicaSet.PRIMARY, replicaSet.routeRead());
+        replicaSet.unbindClient();
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("db.reads.routed").tag("target", target).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,146 @@
+package com.library.management.lmsv1.book.repository;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BookRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        bookRepository.saveAll(List.of(
+                new Book("Effective Java", "Joshua Bloch", "R-1", LocalDate.of(2018,1,6), BookStatus.AVAILABLE),
+                new Book("Java Puzzlers", "JOSHUA BLOCH", "R-2", LocalDate.of(2005,7,4), BookStatus.BORROWED),
+                new Book("Clean Code", "Robert C. Martin", "R-3", LocalDate.of(2008,8,1), BookStatus.AVAILABLE)
+        ));
+    }
+
+    private List<String> titles(String author, BookStatus status) {
+        return bookRepository.findAll(BookSpecifications.filter(author, status), Sort.by("id")).stream()
+                .map(Book::getTitle)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Filter combinations are applied in the query")
+    void filterCombinations() {
+        assertEquals(List.of("Effective Java", "Java Puzzlers", "Clean Code"), titles(null, null));
+        assertEquals(List.of("Effective Java", "Java Puzzlers"), titles("joshua bloch", null));
+        assertEquals(List.of("Effective Java", "Clean Code"), titles(null, BookStatus.AVAILABLE));
+        assertEquals(List.of("Java Puzzlers"), titles("Joshua Bloch", BookStatus.BORROWED));
+        assertTrue(titles("Nobody", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Normalized author follows author changes")
+    void authorLowerTracksUpdates() {
+        Book book = bookRepository.findById(bookRepository.findResponseByIsbn("R-3").orElseThrow().getId()).orElseThrow();
+        book.setAuthor("Uncle Bob");
+        bookRepository.saveAndFlush(book);
+        assertEquals("uncle bob", bookRepository.findById(book.getId()).orElseThrow().getAuthorLower());
+        assertEquals(List.of("Clean Code"), titles("UNCLE BOB", null));
+    }
+
+    @Test
+    @DisplayName("Keyset seek on (publishedDate, id) walks pages without gaps")
+    void publishedDateKeyset() {
+        bookRepository.save(new Book("Same Day", "A", "R-4", LocalDate.of(2008,8,1), BookStatus.AVAILABLE));
+        Sort sort = Sort.by("publishedDate", "id");
+        List<Book> first = bookRepository.findBy(BookSpecifications.publishedAfter(LocalDate.of(2006,1,1)),
+                q -> q.sortBy(sort).limit(2).all());
+        assertEquals(List.of("Clean Code", "Same Day"), first.stream().map(Book::getTitle).toList());
+        Book last = first.get(1);
+        List<Book> second = bookRepository.findBy(
+                BookSpecifications.publishedAfter(LocalDate.of(2006,1,1))
+                        .and(BookSpecifications.publishedDateIdAfter(last.getPublishedDate(), last.getId())),
+                q -> q.sortBy(sort).limit(2).all());
+        assertEquals(List.of("Effective Java"), second.stream().map(Book::getTitle).toList());
+    }
+
+    @Test
+    @DisplayName("Publication window honours before and status bounds")
+    void publishedBetween() {
+        List<String> titles = bookRepository.findAll(
+                        BookSpecifications.publishedBetween(LocalDate.of(2000,1,1), LocalDate.of(2010,1,1), BookStatus.AVAILABLE),
+                        Sort.by("publishedDate", "id")).stream()
+                .map(Book::getTitle)
+                .toList();
+        assertEquals(List.of("Clean Code"), titles);
+    }
+
+    @Test
+    @DisplayName("Projected reads return response DTOs without managing entities")
+    void projectedReads() {
+        entityManager.flush();
+        entityManager.clear();
+        List<BookResponseDto> page = bookRepository.findResponses(
+                BookSpecifications.filter("joshua bloch", null), Sort.by("publishedDate", "id"), 1);
+        assertEquals(List.of("Java Puzzlers"), page.stream().map(BookResponseDto::getTitle).toList());
+        assertEquals(BookStatus.BORROWED, page.get(0).getStatus());
+        assertNotNull(page.get(0).getVersion());
+
+        BookResponseDto byIsbn = bookRepository.findResponseByIsbn("R-3").orElseThrow();
+        assertEquals(byIsbn.getTitle(), bookRepository.findResponseById(byIsbn.getId()).orElseThrow().getTitle());
+        assertTrue(bookRepository.findResponseByIsbn("missing").isEmpty());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Single-statement update and delete return the previous row")
+    void writesReturnPreviousRow() {
+        BookResponseDto book = bookRepository.findResponseByIsbn("R-1").orElseThrow();
+        long version = book.getVersion();
+        entityManager.clear();
+        PutCallBookRequestDto change = new PutCallBookRequestDto();
+        change.setAuthor("J. Bloch");
+        change.setStatus(BookStatus.BORROWED);
+
+        BookResponseDto before = bookRepository.updateReturningPrevious(book.getId(), change, version).orElseThrow();
+        assertEquals("Joshua Bloch", before.getAuthor());
+        assertEquals(BookStatus.AVAILABLE, before.getStatus());
+        assertEquals(LocalDate.of(2018,1,6), before.getPublishedDate());
+        Book after = bookRepository.findById(book.getId()).orElseThrow();
+        assertEquals("j. bloch", after.getAuthorLower());
+        assertEquals(BookStatus.BORROWED, after.getStatus());
+        assertEquals(version + 1, after.getVersion());
+        assertTrue(bookRepository.updateReturningPrevious(book.getId(), change, version).isEmpty());
+
+        entityManager.clear();
+        PutCallBookRequestDto duplicate = new PutCallBookRequestDto();
+        duplicate.setIsbn("R-2");
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookRepository.updateReturningPrevious(book.getId(), duplicate, null));
+    }
+
+    @Test
+    @DisplayName("Delete returning the previous row is empty for a missing book")
+    void deleteReturningPrevious() {
+        Long id = bookRepository.findResponseByIsbn("R-3").orElseThrow().getId();
+        entityManager.clear();
+        assertEquals("R-3", bookRepository.deleteReturningPrevious(id).orElseThrow().getIsbn());
+        assertTrue(bookRepository.deleteReturningPrevious(id).isEmpty());
+        assertFalse(bookRepository.existsById(id));
+    }
+}
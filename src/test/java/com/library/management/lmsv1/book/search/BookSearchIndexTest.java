@@ -0,0 +1,77 @@
+package com.library.management.lmsv1.book.search;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.BookSearchHitDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    private static BookResponseDto book(long id, String title, String author, long version) {
+        return new BookResponseDto(id, title, author, "ISBN" + id, LocalDate.of(2020, 1, 1), BookStatus.AVAILABLE, version);
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10).stream().map(hit -> hit.getBook().getId()).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+        index.put(book(1, "Refactoring", "Martin Fowler", 0));
+        index.put(book(2, "Clean Code", "Robert C. Martin", 0));
+        index.put(book(3, "Patterns of Enterprise Application Architecture", "Martin Fowler", 0));
+        index.put(book(4, "Café Society", "Zoë Heller", 0));
+    }
+
+    @Test
+    @DisplayName("Tokens are case-folded, accent-stripped and matched as prefixes")
+    void prefixAndFolding() {
+        assertEquals(List.of(1L), ids("REFACT"));
+        assertEquals(List.of(4L), ids("cafe zoe"));
+        assertEquals(List.of(1L, 3L), ids("fowl"));
+        assertTrue(ids("refactoring clean").isEmpty(), "every token must match");
+        assertTrue(ids("  -- ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Exact and title matches outrank prefix and author-only matches")
+    void ranking() {
+        List<BookSearchHitDto> hits = index.search("martin", 10);
+        assertEquals(3, hits.size());
+        assertTrue(hits.get(0).getScore() >= hits.get(2).getScore());
+
+        index.put(book(5, "Martin Chuzzlewit", "Charles Dickens", 0));
+        assertEquals(5L, ids("martin").get(0), "title match ranks first");
+        assertEquals(List.of(3L), ids("archit martin"));
+        assertEquals(2, index.search("martin", 2).size(), "limit caps the result");
+    }
+
+    @Test
+    @DisplayName("Updates replace terms, stale versions are ignored and deletes survive a concurrent load")
+    void incrementalUpdates() {
+        index.put(book(1, "Refactoring Second Edition", "Martin Fowler", 1));
+        assertEquals(List.of(1L), ids("second"));
+        index.put(book(1, "Refactoring", "Martin Fowler", 0));
+        assertEquals(List.of(1L), ids("second"), "older version must not win");
+
+        index.put(book(2, "Clean Architecture", "Robert C. Martin", 1));
+        assertTrue(ids("code").isEmpty());
+
+        index.beginLoad();
+        index.remove(3L);
+        index.load(book(3, "Patterns of Enterprise Application Architecture", "Martin Fowler", 0));
+        index.endLoad();
+        assertEquals(List.of(1L), ids("fowler"));
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,172 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookBulkGetItemDto;
+import com.library.management.lmsv1.book.dto.BookBulkGetResultDto;
+import com.library.management.lmsv1.book.dto.BookBulkItemDto;
+import com.library.management.lmsv1.book.dto.BookBulkOutcome;
+import com.library.management.lmsv1.book.dto.BookBulkRequestDto;
+import com.library.management.lmsv1.book.dto.BookBulkResultDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BookBulkServiceImpl.class)
+@RecordApplicationEvents
+class BookBulkServiceImplTest {
+
+    @Autowired
+    private BookBulkService bookBulkService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Book available;
+    private Book borrowed;
+
+    @BeforeEach
+    void setup() {
+        available = bookRepository.save(new Book("Available", "A", "B-1", LocalDate.of(2020,1,1), BookStatus.AVAILABLE));
+        borrowed = bookRepository.save(new Book("Borrowed", "B", "B-2", LocalDate.of(2021,1,1), BookStatus.BORROWED));
+        bookRepository.flush();
+    }
+
+    private static List<BookBulkOutcome> outcomes(BookBulkResultDto result) {
+        return result.getItems().stream().map(BookBulkItemDto::getOutcome).toList();
+    }
+
+    @Test
+    @DisplayName("Bulk status reports updated, already-in-state and missing keys in request order")
+    void updateStatusOutcomes() {
+        BookBulkResultDto result = bookBulkService.updateStatus(new BookBulkRequestDto(
+                List.of(available.getId(), 999L), List.of("B-2", "NOPE"), BookStatus.BORROWED));
+
+        assertEquals(List.of(BookBulkOutcome.UPDATED, BookBulkOutcome.NOT_FOUND,
+                BookBulkOutcome.ALREADY_IN_STATE, BookBulkOutcome.NOT_FOUND), outcomes(result));
+        assertEquals(4, result.getRequested());
+        assertEquals(1, result.getChanged());
+        assertEquals(borrowed.getId(), result.getItems().get(2).getId());
+
+        Book reloaded = bookRepository.findById(available.getId()).orElseThrow();
+        assertEquals(BookStatus.BORROWED, reloaded.getStatus());
+        assertEquals(reloaded.getVersion(), result.getItems().get(0).getVersion());
+        assertEquals(borrowed.getVersion(), bookRepository.findById(borrowed.getId()).orElseThrow().getVersion());
+
+        List<BookChangedEvent> changes = events.stream(BookChangedEvent.class).toList();
+        assertEquals(1, changes.size());
+        assertEquals(BookStatus.AVAILABLE, changes.get(0).getBefore().getStatus());
+        assertEquals(BookStatus.BORROWED, changes.get(0).getAfter().getStatus());
+    }
+
+    @Test
+    @DisplayName("Bulk delete removes found books once, even when named by id and ISBN")
+    void deleteOutcomes() {
+        BookBulkResultDto result = bookBulkService.delete(new BookBulkRequestDto(
+                List.of(available.getId()), List.of("B-1", "B-2", "NOPE"), null));
+
+        assertEquals(List.of(BookBulkOutcome.DELETED, BookBulkOutcome.DELETED,
+                BookBulkOutcome.DELETED, BookBulkOutcome.NOT_FOUND), outcomes(result));
+        assertEquals(2, result.getChanged());
+        assertEquals(0, bookRepository.count());
+        assertEquals(2, events.stream(BookChangedEvent.class).count());
+    }
+
+    @Test
+    @DisplayName("Bulk changes lock with one IN query per key type present and change books in id order")
+    void lockQueriesPerKeyType() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        bookBulkService.updateStatus(new BookBulkRequestDto(List.of(available.getId()), List.of(), BookStatus.BORROWED));
+        assertEquals(List.of("where b.id in"), lockQueries(statistics));
+
+        statistics.clear();
+        bookBulkService.updateStatus(new BookBulkRequestDto(List.of(borrowed.getId()), List.of("B-1"), BookStatus.AVAILABLE));
+        assertEquals(List.of("where b.id in", "where b.isbn in"), lockQueries(statistics));
+        assertEquals(List.of(available.getId(), borrowed.getId()),
+                events.stream(BookChangedEvent.class).skip(1).map(BookChangedEvent::getBookId).toList());
+    }
+
+    private static List<String> lockQueries(Statistics statistics) {
+        return Arrays.stream(statistics.getQueries())
+                .filter(q -> q.endsWith("order by b.id"))
+                .map(q -> q.substring(q.indexOf("where "), q.indexOf(" in ") + 3))
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Requests spanning several batches are applied to every batch")
+    void multipleBatches() {
+        List<Long> ids = IntStream.range(0, BookBulkServiceImpl.BATCH_SIZE + 10)
+                .mapToObj(i -> bookRepository.save(new Book("T" + i, "A", "M-" + i, null, BookStatus.AVAILABLE)).getId())
+                .toList();
+        BookBulkResultDto result = bookBulkService.updateStatus(new BookBulkRequestDto(ids, List.of(), BookStatus.BORROWED));
+        assertEquals(ids.size(), result.getChanged());
+        assertEquals(ids.size() + 1L, (long) bookRepository.countByStatus().stream()
+                .filter(row -> row[0] == BookStatus.BORROWED).map(row -> (Long) row[1]).findFirst().orElse(0L));
+    }
+
+    @Test
+    @DisplayName("Bulk get answers every key in request order, across batches, with missing keys marked")
+    void getInRequestOrder() {
+        List<Long> more = IntStream.range(0, BookBulkServiceImpl.BATCH_SIZE)
+                .mapToObj(i -> bookRepository.save(new Book("T" + i, "A", "G-" + i, null, BookStatus.AVAILABLE)).getId())
+                .toList();
+        List<Long> ids = new ArrayList<>(more);
+        ids.add(999_999L);
+        ids.add(borrowed.getId());
+        BookBulkGetResultDto result = bookBulkService.get(new BookBulkRequestDto(ids, List.of("NOPE", "B-1"), null));
+
+        assertEquals(ids.size() + 2, result.getRequested());
+        assertEquals(more.size() + 2, result.getFound());
+        List<BookBulkGetItemDto> items = result.getItems();
+        assertEquals(more.get(0), items.get(0).getBook().getId());
+        BookBulkGetItemDto missing = items.get(more.size());
+        assertEquals(999_999L, missing.getId());
+        assertEquals(BookBulkOutcome.NOT_FOUND, missing.getOutcome());
+        assertNull(missing.getBook());
+        assertEquals("Borrowed", items.get(more.size() + 1).getBook().getTitle());
+        assertEquals(BookBulkOutcome.NOT_FOUND, items.get(more.size() + 2).getOutcome());
+        assertEquals("NOPE", items.get(more.size() + 2).getIsbn());
+        assertEquals(available.getId(), items.get(more.size() + 3).getBook().getId());
+        assertTrue(events.stream(BookChangedEvent.class).findAny().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Bulk requests without keys, status or within limits are rejected")
+    void rejectsBadRequests() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bookBulkService.delete(new BookBulkRequestDto(List.of(), List.of(), null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookBulkService.updateStatus(new BookBulkRequestDto(List.of(1L), List.of(), null)));
+        List<Long> tooMany = IntStream.rangeClosed(0, BookBulkServiceImpl.MAX_KEYS).mapToObj(i -> (long) i).toList();
+        assertThrows(IllegalArgumentException.class,
+                () -> bookBulkService.delete(new BookBulkRequestDto(tooMany, List.of(), null)));
+    }
+}
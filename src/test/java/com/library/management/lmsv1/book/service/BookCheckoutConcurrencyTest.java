@@ -0,0 +1,77 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookRequestDto;
+import com.library.management.lmsv1.book.exception.InvalidStatusTransitionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookCheckoutConcurrencyTest {
+
+    private static final int BORROWERS = 200;
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    @DisplayName("Exactly one of many concurrent borrowers wins the same book")
+    void exactlyOneBorrowerWins() throws Exception {
+        Long id = bookService.create(new BookRequestDto("Popular", "Author", "HOT-1",
+                LocalDate.of(2024,1,1), BookStatus.AVAILABLE)).getId();
+        long startVersion = bookService.findVersion(id);
+
+        for (int round = 0; round < 3; round++) {
+            assertEquals(1, race(() -> bookService.checkout(id)), "checkout round " + round);
+            assertEquals(BookStatus.BORROWED, bookService.findById(id).getStatus());
+            assertEquals(1, race(() -> bookService.returnBook(id)), "return round " + round);
+            assertEquals(BookStatus.AVAILABLE, bookService.findById(id).getStatus());
+        }
+        // Every successful transition, and only those, bumped the version
+        assertEquals(startVersion + 6, bookService.findVersion(id));
+    }
+
+    private int race(Runnable transition) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger losers = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < BORROWERS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        transition.run();
+                        winners.incrementAndGet();
+                    } catch (InvalidStatusTransitionException e) {
+                        losers.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(BORROWERS, winners.get() + losers.get());
+        return winners.get();
+    }
+}
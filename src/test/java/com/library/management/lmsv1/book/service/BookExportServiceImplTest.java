@@ -0,0 +1,62 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BookExportServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BookExportServiceImplTest {
+
+    @Autowired
+    private BookExportService bookExportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setup() {
+        bookRepository.saveAll(List.of(
+                new Book("Effective Java", "Joshua Bloch", "E-1", LocalDate.of(2018,1,6), BookStatus.AVAILABLE),
+                new Book("Patterns, \"Elements\"", "Gang of Four", null, null, BookStatus.BORROWED)
+        ));
+    }
+
+    @Test
+    @DisplayName("NDJSON export writes one object per line")
+    void exportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, bookExportService.export(BookExportFormat.NDJSON, out));
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"Effective Java\""));
+        assertTrue(lines[0].contains("\"publishedDate\":\"2018-01-06\""));
+    }
+
+    @Test
+    @DisplayName("CSV export quotes fields that need it")
+    void exportCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, bookExportService.export(BookExportFormat.CSV, out));
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,title,author,isbn,publishedDate,status", lines[0]);
+        assertTrue(lines[1].endsWith(",Effective Java,Joshua Bloch,E-1,2018-01-06,AVAILABLE"));
+        assertTrue(lines[2].endsWith(",\"Patterns, \"\"Elements\"\"\",Gang of Four,,,BORROWED"));
+    }
+}
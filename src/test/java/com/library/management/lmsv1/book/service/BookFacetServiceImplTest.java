@@ -0,0 +1,172 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookFacetsDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookFacetServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookFacetServiceImpl facetService;
+
+    private static List<Object[]> rows(Object... pairs) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < pairs.length; i += 2) rows.add(new Object[]{pairs[i], pairs[i + 1]});
+        return rows;
+    }
+
+    private static List<Object[]> authorRows(Object... triples) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < triples.length; i += 3) rows.add(new Object[]{triples[i], triples[i + 1], triples[i + 2]});
+        return rows;
+    }
+
+    private static BookResponseDto book(long id, String author, LocalDate published, BookStatus status, long version) {
+        return new BookResponseDto(id, "T" + id, author, "ISBN" + id, published, status, version);
+    }
+
+    @BeforeEach
+    void setup() {
+        facetService = new BookFacetServiceImpl(bookRepository, transactionManager);
+        lenient().when(bookRepository.countByStatus()).thenReturn(rows(BookStatus.AVAILABLE, 2L, BookStatus.BORROWED, 1L));
+        lenient().when(bookRepository.countByAuthor()).thenReturn(authorRows("fowler", "Fowler", 2L, "beck", "Beck", 1L));
+        lenient().when(bookRepository.countByPublicationYear()).thenReturn(rows(1999, 2L, null, 1L));
+    }
+
+    @Test
+    @DisplayName("Answers from the database until the counters are seeded")
+    void databaseFallback() {
+        BookFacetsDto facets = facetService.facets(10);
+        assertEquals("database", facets.getSource());
+        assertEquals(3, facets.getTotal());
+        assertEquals(1L, facets.getByPublicationYear().get(BookFacetsDto.UNKNOWN_YEAR));
+        verify(bookRepository, times(1)).countByStatus();
+    }
+
+    @Test
+    @DisplayName("Counters follow write events without touching the database")
+    void countersFollowEvents() {
+        facetService.reconcile();
+        clearInvocations(bookRepository);
+
+        BookResponseDto created = book(10, "Beck", LocalDate.of(2002, 11, 8), BookStatus.AVAILABLE, 0);
+        facetService.onBookChanged(BookChangedEvent.created(created));
+        BookResponseDto borrowed = book(10, "Beck", LocalDate.of(2002, 11, 8), BookStatus.BORROWED, 1);
+        facetService.onBookChanged(BookChangedEvent.updated(created, borrowed));
+        facetService.onBookChanged(BookChangedEvent.deleted(book(11, "Fowler", null, BookStatus.AVAILABLE, 0)));
+
+        BookFacetsDto facets = facetService.facets(1);
+        assertEquals("counters", facets.getSource());
+        assertEquals(3, facets.getTotal());
+        assertEquals(1L, facets.getByStatus().get(BookStatus.AVAILABLE));
+        assertEquals(2L, facets.getByStatus().get(BookStatus.BORROWED));
+        assertEquals(List.of("Beck"), List.copyOf(facets.getByAuthor().keySet()), "top author only");
+        assertEquals(1L, facets.getByPublicationYear().get("2002"));
+        assertNull(facets.getByPublicationYear().get(BookFacetsDto.UNKNOWN_YEAR), "empty buckets are dropped");
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Reconciliation replaces drifted counters and reports how many buckets differed")
+    void reconcileRepairsDrift() {
+        facetService.reconcile();
+        facetService.onBookChanged(BookChangedEvent.created(book(12, "Evans", LocalDate.of(2003, 8, 30), BookStatus.AVAILABLE, 0)));
+
+        // The database never saw that write, so status, author and year buckets all disagree
+        assertEquals(3, facetService.reconcile());
+        assertEquals(3, facetService.facets(10).getTotal());
+        assertEquals(0, facetService.reconcile());
+    }
+
+    @Test
+    @DisplayName("A recount waits for a commit in progress, so its change is counted once and is not drift")
+    void recountWaitsForCommit() throws Exception {
+        facetService.reconcile();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        CompletableFuture<Long> recount;
+        try {
+            // Before commit: the change is held until the transaction completes
+            facetService.onBookChanged(BookChangedEvent.created(book(12, "Evans", LocalDate.of(2003, 8, 30), BookStatus.AVAILABLE, 0)));
+            when(bookRepository.countByStatus()).thenReturn(rows(BookStatus.AVAILABLE, 3L, BookStatus.BORROWED, 1L));
+            when(bookRepository.countByAuthor()).thenReturn(authorRows("fowler", "Fowler", 2L, "beck", "Beck", 1L, "evans", "Evans", 1L));
+            when(bookRepository.countByPublicationYear()).thenReturn(rows(1999, 2L, 2003, 1L, null, 1L));
+            recount = CompletableFuture.supplyAsync(facetService::reconcile);
+            assertThrows(TimeoutException.class, () -> recount.get(200, TimeUnit.MILLISECONDS));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(0, recount.get(5, TimeUnit.SECONDS));
+        assertEquals(4, facetService.facets(10).getTotal());
+    }
+
+    @Test
+    @DisplayName("Authors are ranked by count, then name, as their counts change")
+    void authorRankingFollowsChanges() {
+        facetService.reconcile();
+        facetService.onBookChanged(BookChangedEvent.created(book(20, "Beck", null, BookStatus.AVAILABLE, 0)));
+        assertEquals(List.of("Beck", "Fowler"), List.copyOf(facetService.facets(10).getByAuthor().keySet()));
+
+        facetService.onBookChanged(BookChangedEvent.created(book(21, "Fowler", null, BookStatus.AVAILABLE, 0)));
+        assertEquals(List.of("Fowler", "Beck"), List.copyOf(facetService.facets(10).getByAuthor().keySet()));
+        assertEquals(3L, facetService.facets(1).getByAuthor().get("Fowler"));
+    }
+
+    @Test
+    @DisplayName("Authors differing only in case share one bucket under one spelling, as the author filter matches them")
+    void authorsCaseInsensitive() {
+        facetService.reconcile();
+        facetService.onBookChanged(BookChangedEvent.created(book(30, "FOWLER", null, BookStatus.AVAILABLE, 0)));
+        facetService.onBookChanged(BookChangedEvent.created(book(31, "tolkien", null, BookStatus.AVAILABLE, 0)));
+        facetService.onBookChanged(BookChangedEvent.created(book(32, "Tolkien", null, BookStatus.AVAILABLE, 0)));
+
+        BookFacetsDto facets = facetService.facets(10);
+        assertEquals(3L, facets.getByAuthor().get("Fowler"));
+        assertEquals(2L, facets.getByAuthor().get("tolkien"));
+        assertEquals(List.of("Fowler", "tolkien", "Beck"), List.copyOf(facets.getByAuthor().keySet()));
+
+        // The bucket keeps the spelling it was shown under until the next recount
+        facetService.onBookChanged(BookChangedEvent.deleted(book(31, "tolkien", null, BookStatus.AVAILABLE, 0)));
+        assertEquals(1L, facetService.facets(10).getByAuthor().get("tolkien"));
+    }
+
+    @Test
+    @DisplayName("topAuthors outside 1..1000 is rejected")
+    void topAuthorsBounds() {
+        assertThrows(IllegalArgumentException.class, () -> facetService.facets(0));
+        assertThrows(IllegalArgumentException.class, () -> facetService.facets(BookFacetServiceImpl.MAX_TOP_AUTHORS + 1));
+    }
+}
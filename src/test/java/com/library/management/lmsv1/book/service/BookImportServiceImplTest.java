@@ -0,0 +1,92 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookImportFailureDto;
+import com.library.management.lmsv1.book.dto.BookImportResultDto;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({BookImportServiceImpl.class, BookIsbnFilter.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class BookImportServiceImplTest {
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private BookImportResultDto run(String payload, Integer batchSize) {
+        return bookImportService.importBooks(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)), batchSize);
+    }
+
+    @Test
+    @DisplayName("Imports a JSON array across several batches")
+    void importJsonArray() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 25; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"title\":\"T").append(i).append("\",\"author\":\"A\",\"isbn\":\"IMP-").append(i)
+                    .append("\",\"publishedDate\":\"2020-01-01\"}");
+        }
+        json.append(']');
+        BookImportResultDto result = run(json.toString(), 10);
+        assertEquals(25, result.getReceived());
+        assertEquals(25, result.getImported());
+        assertTrue(result.getFailures().isEmpty());
+        assertEquals(25, bookRepository.count());
+        assertEquals(BookStatus.AVAILABLE, bookRepository.findResponseByIsbn("IMP-7").orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Reports invalid rows and duplicate ISBNs without dropping the rest")
+    void importNdjsonWithFailures() {
+        bookRepository.save(new Book("Existing", "A", "DUP-DB", LocalDate.of(2000,1,1), BookStatus.AVAILABLE));
+        String ndjson = """
+                {"title":"Ok","author":"A","isbn":"N-1"}
+                {"title":"","author":"A","isbn":"N-2"}
+                {"title":"Again","author":"A","isbn":"N-1"}
+                {"title":"Taken","author":"A","isbn":"DUP-DB"}
+                {"title":"No isbn","author":"A"}
+                """;
+        BookImportResultDto result = run(ndjson, null);
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getImported());
+        List<Long> failedRows = result.getFailures().stream().map(BookImportFailureDto::getRow).sorted().toList();
+        assertEquals(List.of(2L, 3L, 4L), failedRows);
+        assertEquals(3, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Malformed payload keeps rows read before it")
+    void importMalformed() {
+        BookImportResultDto result = run("{\"title\":\"Ok\",\"author\":\"A\"}\n{\"title\":", 10);
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(0).getMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    @DisplayName("Rejects out-of-range batch sizes")
+    void rejectsBadBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> run("[]", 0));
+        assertThrows(IllegalArgumentException.class, () -> run("[]", BookImportServiceImpl.MAX_BATCH_SIZE + 1));
+    }
+}
@@ -0,0 +1,109 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookIsbnFilterTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Set<String> queried = new HashSet<>();
+    private BookIsbnFilter isbnFilter;
+
+    @BeforeEach
+    void setup() {
+        isbnFilter = new BookIsbnFilter(bookRepository, transactionManager, meterRegistry, true, 0.01, 1000);
+    }
+
+    // Stands in for findExistingIsbns against a catalog holding the given ISBNs
+    private Set<String> check(Set<String> catalog, String... isbns) {
+        return isbnFilter.findExisting(List.of(isbns), candidates -> {
+            queried.addAll(candidates);
+            Set<String> found = new HashSet<>(candidates);
+            found.retainAll(catalog);
+            return found;
+        });
+    }
+
+    @Test
+    @DisplayName("Before the first build every ISBN is checked in the database")
+    void unbuiltChecksEverything() {
+        assertEquals(Set.of("A"), check(Set.of("A"), "A", "B"));
+        assertEquals(Set.of("A", "B"), queried);
+    }
+
+    @Test
+    @DisplayName("Once built, ISBNs not in the catalog skip the database and existing ones are still found")
+    void definiteMissesSkipDatabase() {
+        when(bookRepository.count()).thenReturn(2L);
+        when(bookRepository.streamAllIsbns()).thenReturn(Stream.of("A", "B"));
+        isbnFilter.rebuild();
+
+        assertEquals(Set.of("A"), check(Set.of("A", "B"), "A", "NEW-1", "NEW-2"));
+        assertTrue(queried.contains("A"));
+        assertTrue(queried.size() < 3);
+
+        queried.clear();
+        assertEquals(Set.of(), check(Set.of("A", "B"), "NEW-3"));
+        assertTrue(queried.isEmpty());
+        assertEquals(1.0, checks("present"));
+    }
+
+    @Test
+    @DisplayName("ISBNs from committed creates and updates are added to the built filter")
+    void writesAreAdded() {
+        when(bookRepository.count()).thenReturn(0L);
+        when(bookRepository.streamAllIsbns()).thenReturn(Stream.empty());
+        isbnFilter.rebuild();
+        BookResponseDto before = book("OLD");
+        BookResponseDto after = book("RENUMBERED");
+        isbnFilter.onBookChanged(BookChangedEvent.created(book("CREATED")));
+        isbnFilter.onBookChanged(BookChangedEvent.updated(before, after));
+
+        assertEquals(Set.of("CREATED", "RENUMBERED"), check(Set.of("CREATED", "RENUMBERED"), "CREATED", "RENUMBERED"));
+        assertEquals(Set.of("CREATED", "RENUMBERED"), queried);
+    }
+
+    @Test
+    @DisplayName("Disabled, the filter is never built and every ISBN goes to the database")
+    void disabled() {
+        isbnFilter = new BookIsbnFilter(bookRepository, transactionManager, meterRegistry, false, 0.01, 1000);
+        isbnFilter.rebuild();
+        verifyNoInteractions(bookRepository);
+        check(Set.of(), "A", "B");
+        assertEquals(Set.of("A", "B"), queried);
+    }
+
+    private double checks(String outcome) {
+        return meterRegistry.get("book.isbn.checks").tag("outcome", outcome).functionCounter().count();
+    }
+
+    private static BookResponseDto book(String isbn) {
+        return new BookResponseDto(1L, "T", "A", isbn, LocalDate.of(2020, 1, 1), BookStatus.AVAILABLE, 0L);
+    }
+}
@@ -0,0 +1,126 @@
+package com.library.management.lmsv1.book.service;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookRequestDto;
+import com.library.management.lmsv1.book.dto.BookResponseDto;
+import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
+import com.library.management.lmsv1.book.exception.PreconditionFailedException;
+import com.library.management.lmsv1.book.exception.ResourceNotFoundException;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class BookServiceCachingTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @Test
+    @DisplayName("Repeated lookups are served from cache until the book is updated")
+    void findByIdCachedAndEvictedOnUpdate() {
+        BookResponseDto created = bookService.create(
+                new BookRequestDto("Cached", "Author", "CACHE-1", LocalDate.of(2020,1,1), BookStatus.AVAILABLE));
+        Long id = created.getId();
+
+        bookService.findById(id);
+        bookService.findById(id);
+        verify(bookRepository, times(1)).findResponseById(id);
+
+        PutCallBookRequestDto change = new PutCallBookRequestDto();
+        change.setTitle("Renamed");
+        bookService.update(id, change, null);
+        clearInvocations(bookRepository);
+
+        assertEquals("Renamed", bookService.findById(id).getTitle());
+        verify(bookRepository, times(1)).findResponseById(id);
+    }
+
+    @Test
+    @DisplayName("ISBN lookups are evicted for both the old and new ISBN")
+    void findByIsbnEvictedOnIsbnChange() {
+        BookResponseDto created = bookService.create(
+                new BookRequestDto("Cached", "Author", "CACHE-2", LocalDate.of(2020,1,1), BookStatus.AVAILABLE));
+        assertEquals(created.getId(), bookService.findByIsbn("CACHE-2").getId());
+
+        PutCallBookRequestDto change = new PutCallBookRequestDto();
+        change.setIsbn("CACHE-3");
+        bookService.update(created.getId(), change, null);
+
+        assertThrows(ResourceNotFoundException.class, () -> bookService.findByIsbn("CACHE-2"));
+        assertEquals(created.getId(), bookService.findByIsbn("CACHE-3").getId());
+
+        bookService.delete(created.getId());
+        assertThrows(ResourceNotFoundException.class, () -> bookService.findById(created.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> bookService.findByIsbn("CACHE-3"));
+    }
+
+    @Test
+    @DisplayName("Version lookups follow updates and stale versions are rejected")
+    void versionTracksUpdates() {
+        BookResponseDto created = bookService.create(
+                new BookRequestDto("Versioned", "Author", "CACHE-4", LocalDate.of(2020,1,1), BookStatus.AVAILABLE));
+        Long id = created.getId();
+        long v0 = bookService.findVersion(id);
+        assertEquals(created.getVersion(), v0);
+
+        PutCallBookRequestDto change = new PutCallBookRequestDto();
+        change.setStatus(BookStatus.BORROWED);
+        BookResponseDto updated = bookService.update(id, change, v0);
+        assertEquals(v0 + 1, updated.getVersion());
+        assertEquals(v0 + 1, bookService.findVersion(id));
+
+        assertThrows(PreconditionFailedException.class, () -> bookService.update(id, change, v0));
+    }
+
+    @Test
+    @DisplayName("A lookup that read the row before an update committed does not put it back after the eviction")
+    void slowReaderDoesNotRepopulateOldRow() throws Exception {
+        BookResponseDto created = bookService.create(
+                new BookRequestDto("Before", "Author", "CACHE-5", LocalDate.of(2020,1,1), BookStatus.AVAILABLE));
+        Long id = created.getId();
+        // The readers have the row as it was before the update and are held until it has committed
+        CountDownLatch read = new CountDownLatch(2);
+        CountDownLatch committed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            read.countDown();
+            committed.await(5, TimeUnit.SECONDS);
+            return Optional.of(created);
+        }).when(bookRepository).findResponseById(id);
+        doAnswer(invocation -> {
+            read.countDown();
+            committed.await(5, TimeUnit.SECONDS);
+            return Optional.of(created.getVersion());
+        }).when(bookRepository).findVersionById(id);
+
+        CompletableFuture<BookResponseDto> slowBook = CompletableFuture.supplyAsync(() -> bookService.findById(id));
+        CompletableFuture<Long> slowVersion = CompletableFuture.supplyAsync(() -> bookService.findVersion(id));
+        assertTrue(read.await(5, TimeUnit.SECONDS));
+
+        PutCallBookRequestDto change = new PutCallBookRequestDto();
+        change.setTitle("After");
+        BookResponseDto updated = bookService.update(id, change, null);
+        committed.countDown();
+        assertEquals("Before", slowBook.get(5, TimeUnit.SECONDS).getTitle());
+        assertEquals(created.getVersion(), slowVersion.get(5, TimeUnit.SECONDS));
+        reset(bookRepository);
+
+        assertEquals("After", bookService.findById(id).getTitle());
+        assertEquals(updated.getVersion(), bookService.findVersion(id));
+    }
+}
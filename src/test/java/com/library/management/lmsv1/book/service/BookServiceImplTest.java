@@ -2,26 +2,39 @@ package com.library.management.lmsv1.book.service;
 
 import com.library.management.lmsv1.book.Book;
 import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookPageResponseDto;
 import com.library.management.lmsv1.book.dto.BookRequestDto;
 import com.library.management.lmsv1.book.dto.BookResponseDto;
 import com.library.management.lmsv1.book.dto.PutCallBookRequestDto;
-import com.library.management.lmsv1.book.exception.DuplicateResourceException;
+import com.library.management.lmsv1.book.event.BookChangedEvent;
+import com.library.management.lmsv1.book.exception.InvalidStatusTransitionException;
+import com.library.management.lmsv1.book.exception.PreconditionFailedException;
 import com.library.management.lmsv1.book.exception.ResourceNotFoundException;
 import com.library.management.lmsv1.book.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +43,12 @@ class BookServiceImplTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private BookLookupCoalescer lookups = new BookLookupCoalescer(Duration.ofSeconds(1), new SimpleMeterRegistry());
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -45,8 +64,7 @@ class BookServiceImplTest {
     @DisplayName("Create book successfully")
     void createSuccess() {
         BookRequestDto req = new BookRequestDto("Title","Auth","ISBN-NEW", LocalDate.now(), BookStatus.AVAILABLE);
-        when(bookRepository.existsByIsbn("ISBN-NEW")).thenReturn(false);
-        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> {
+        when(bookRepository.saveAndFlush(any(Book.class))).thenAnswer(invocation -> {
             Book b = invocation.getArgument(0);
             b.setId(10L);
             return b;
@@ -54,49 +72,96 @@ class BookServiceImplTest {
         BookResponseDto resp = bookService.create(req);
         assertNotNull(resp.getId());
         assertEquals("Title", resp.getTitle());
-        verify(bookRepository).save(any(Book.class));
+        verify(bookRepository).saveAndFlush(any(Book.class));
+        verify(bookRepository, never()).findExistingIsbns(any());
     }
 
     @Test
-    @DisplayName("Create book duplicate ISBN")
+    @DisplayName("Create book duplicate ISBN surfaces the constraint violation")
     void createDuplicateIsbn() {
         BookRequestDto req = new BookRequestDto("Title","Auth","ISBN-1", LocalDate.now(), BookStatus.AVAILABLE);
-        when(bookRepository.existsByIsbn("ISBN-1")).thenReturn(true);
-        assertThrows(DuplicateResourceException.class, () -> bookService.create(req));
+        when(bookRepository.saveAndFlush(any(Book.class))).thenThrow(new DataIntegrityViolationException("uk_books_isbn"));
+        assertThrows(DataIntegrityViolationException.class, () -> bookService.create(req));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     @DisplayName("Find by id not found")
     void findByIdNotFound() {
-        when(bookRepository.findById(99L)).thenReturn(Optional.empty());
+        when(bookRepository.findResponseById(99L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> bookService.findById(99L));
     }
 
     @Test
-    @DisplayName("Update duplicate ISBN")
+    @DisplayName("Update duplicate ISBN surfaces the constraint violation")
     void updateDuplicateIsbn() {
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(bookRepository.existsByIsbn("OTHER")).thenReturn(true);
         PutCallBookRequestDto req = new PutCallBookRequestDto("NewT","NewA","OTHER", LocalDate.now(), BookStatus.BORROWED);
-        assertThrows(DuplicateResourceException.class, () -> bookService.update(1L, req));
+        when(bookRepository.updateReturningPrevious(1L, req, null)).thenThrow(new DataIntegrityViolationException("uk_books_isbn"));
+        assertThrows(DataIntegrityViolationException.class, () -> bookService.update(1L, req, null));
     }
 
     @Test
-    @DisplayName("Find published after with streams")
+    @DisplayName("Find published after returns a page keyed on date and id")
+    @SuppressWarnings("unchecked")
     void findPublishedAfter() {
-        Book b1 = existing; // 2020-01-01
-        Book b2 = new Book("Older","A","OLD", LocalDate.of(2010,1,1), BookStatus.AVAILABLE); b2.setId(2L);
         Book b3 = new Book("Newer","A","NEW", LocalDate.of(2024,1,1), BookStatus.BORROWED); b3.setId(3L);
-        when(bookRepository.findAll()).thenReturn(List.of(b1,b2,b3));
-        List<BookResponseDto> result = bookService.findPublishedAfter(LocalDate.of(2021,1,1));
-        assertEquals(1, result.size());
-        assertEquals("Newer", result.get(0).getTitle());
+        when(bookRepository.findResponses(any(Specification.class), any(Sort.class), eq(2)))
+                .thenReturn(List.of(BookMapper.mapToResponse(existing), BookMapper.mapToResponse(b3)));
+        BookPageResponseDto page = bookService.findPublishedAfter(LocalDate.of(2019,1,1), null, null, null, 1);
+        assertEquals(1, page.getItems().size());
+        assertEquals("Existing", page.getItems().get(0).getTitle());
+        assertNotNull(page.getNextCursor());
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Published-after cursor round trips and rejects id cursors")
+    @SuppressWarnings("unchecked")
+    void publishedAfterCursor() {
+        when(bookRepository.findResponses(any(Specification.class), any(Sort.class), eq(2)))
+                .thenReturn(List.of(BookMapper.mapToResponse(existing), BookMapper.mapToResponse(existing)));
+        String next = bookService.findPublishedAfter(LocalDate.of(2019,1,1), null, null, null, 1).getNextCursor();
+        BookCursor decoded = BookCursor.decodePublishedDate(next);
+        assertEquals(LocalDate.of(2020,1,1), decoded.publishedDate());
+        assertEquals(1L, decoded.id());
+        String idCursor = BookCursor.ofId(1L).encode();
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.findPublishedAfter(LocalDate.of(2019,1,1), null, null, idCursor, 10));
+    }
+
+    @Test
+    @DisplayName("Published-after rejects an empty date window")
+    void publishedAfterRejectsInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.findPublishedAfter(
+                LocalDate.of(2020,1,1), LocalDate.of(2020,1,1), null, null, 10));
+    }
+
+    @Test
+    @DisplayName("Find all delegates filtering to the repository")
+    @SuppressWarnings("unchecked")
+    void findAllFiltersInDatabase() {
+        when(bookRepository.findResponses(any(Specification.class), any(Sort.class), eq(11)))
+                .thenReturn(List.of(BookMapper.mapToResponse(existing)));
+        BookPageResponseDto page = bookService.findAll("author", BookStatus.AVAILABLE, null, 10);
+        assertEquals(1, page.getItems().size());
+        assertEquals("Existing", page.getItems().get(0).getTitle());
+        assertNull(page.getNextCursor());
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Find all rejects malformed cursors and out-of-range limits")
+    void findAllRejectsBadPaging() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.findAll(null, null, "not a cursor!", 10));
+        assertThrows(IllegalArgumentException.class, () -> bookService.findAll(null, null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.findAll(null, null, null, BookServiceImpl.MAX_PAGE_SIZE + 1));
     }
 
     @Test
     @DisplayName("Find by id success")
     void findByIdSuccess() {
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(bookRepository.findResponseById(1L)).thenReturn(Optional.of(BookMapper.mapToResponse(existing)));
         BookResponseDto dto = bookService.findById(1L);
         assertEquals("Existing", dto.getTitle());
         assertEquals(1L, dto.getId());
@@ -105,19 +170,85 @@ class BookServiceImplTest {
     @Test
     @DisplayName("Update partial fields success")
     void updatePartialFieldsSuccess() {
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        existing.setVersion(2L);
         PutCallBookRequestDto partial = new PutCallBookRequestDto();
         partial.setTitle("Updated Title"); // only title changed
-        BookResponseDto updated = bookService.update(1L, partial);
+        when(bookRepository.updateReturningPrevious(1L, partial, null)).thenReturn(Optional.of(BookMapper.mapToResponse(existing)));
+        BookResponseDto updated = bookService.update(1L, partial, null);
         assertEquals("Updated Title", updated.getTitle());
         assertEquals("Author", updated.getAuthor());
+        assertEquals(3L, updated.getVersion());
+        verify(bookRepository, never()).findById(any());
+        ArgumentCaptor<BookChangedEvent> event = ArgumentCaptor.forClass(BookChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("Existing", event.getValue().getBefore().getTitle());
+        assertEquals("Updated Title", event.getValue().getAfter().getTitle());
+    }
+
+    @Test
+    @DisplayName("Update with a stale expected version fails the precondition")
+    void updateStaleVersion() {
+        PutCallBookRequestDto partial = new PutCallBookRequestDto();
+        partial.setTitle("Lost update");
+        when(bookRepository.updateReturningPrevious(1L, partial, 2L)).thenReturn(Optional.empty());
+        when(bookRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        assertThrows(PreconditionFailedException.class, () -> bookService.update(1L, partial, 2L));
+        when(bookRepository.updateReturningPrevious(99L, partial, null)).thenReturn(Optional.empty());
+        when(bookRepository.findVersionById(99L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> bookService.update(99L, partial, null));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Checkout flips status with a conditional update")
+    void checkoutSuccess() {
+        when(bookRepository.transitionStatus(1L, BookStatus.AVAILABLE, BookStatus.BORROWED)).thenReturn(1);
+        existing.setStatus(BookStatus.BORROWED);
+        existing.setVersion(4L);
+        when(bookRepository.findResponseById(1L)).thenReturn(Optional.of(BookMapper.mapToResponse(existing)));
+        BookResponseDto dto = bookService.checkout(1L);
+        assertEquals(BookStatus.BORROWED, dto.getStatus());
+        ArgumentCaptor<BookChangedEvent> event = ArgumentCaptor.forClass(BookChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(BookStatus.AVAILABLE, event.getValue().getBefore().getStatus());
+        assertEquals(3L, event.getValue().getBefore().getVersion());
+    }
+
+    @Test
+    @DisplayName("Checkout of a borrowed book conflicts, of a missing book is not found")
+    void checkoutFailures() {
+        when(bookRepository.transitionStatus(anyLong(), eq(BookStatus.AVAILABLE), eq(BookStatus.BORROWED))).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.existsById(99L)).thenReturn(false);
+        assertThrows(InvalidStatusTransitionException.class, () -> bookService.checkout(1L));
+        assertThrows(ResourceNotFoundException.class, () -> bookService.checkout(99L));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     @DisplayName("Delete not found")
     void deleteNotFound() {
-        when(bookRepository.existsById(99L)).thenReturn(false);
+        when(bookRepository.deleteReturningPrevious(99L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> bookService.delete(99L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Delete publishes the deleted book so caches can drop its ISBN")
+    void deletePublishesEvent() {
+        when(bookRepository.deleteReturningPrevious(1L)).thenReturn(Optional.of(BookMapper.mapToResponse(existing)));
+        bookService.delete(1L);
+        verify(bookRepository, never()).findById(any());
+        ArgumentCaptor<BookChangedEvent> event = ArgumentCaptor.forClass(BookChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(BookChangedEvent.Type.DELETED, event.getValue().getType());
+        assertEquals("ISBN-1", event.getValue().getBefore().getIsbn());
+    }
+
+    @Test
+    @DisplayName("Find by isbn not found")
+    void findByIsbnNotFound() {
+        when(bookRepository.findResponseByIsbn("NOPE")).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> bookService.findByIsbn("NOPE"));
     }
 }
@@ -0,0 +1,84 @@
+package com.library.management.lmsv1.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admissiontest;DB_CLOSE_DELAY=-1",
+        "lms.admission.scan.rate=0.01", "lms.admission.scan.burst=2", "lms.admission.scan.concurrency=1",
+        "lms.admission.trusted-proxies=10.0.0.9"})
+@AutoConfigureMockMvc
+class AdmissionControlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("A client over its scan rate gets 429 with Retry-After; other clients and lookups are unaffected")
+    void rateLimitedScans() throws Exception {
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.1"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.1"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.message", containsString("scan")));
+
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.2"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/books/isbn/9780134685991").with(from("10.0.0.1")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("X-Client-Id is ignored from an untrusted address, so a new id does not get a new bucket")
+    void clientIdIgnoredFromClients() throws Exception {
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.5")).header(ClientId.HEADER, "a")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.5")).header(ClientId.HEADER, "b")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.5")).header(ClientId.HEADER, "c"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Behind a trusted proxy each X-Client-Id has its own bucket")
+    void clientIdFromTrustedProxy() throws Exception {
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.9")).header(ClientId.HEADER, "a")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.9")).header(ClientId.HEADER, "a")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.9")).header(ClientId.HEADER, "a"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.9")).header(ClientId.HEADER, "b")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("A streamed export holds its scan slot until the stream completes")
+    void exportHoldsSlot() throws Exception {
+        MvcResult export = mockMvc.perform(get("/api/v1/books/export").with(from("10.0.0.3")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.4")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message", containsString("concurrent")));
+
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/books").with(from("10.0.0.4"))).andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.library.management.lmsv1.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Token bucket admits the burst, then one request per interval as tokens refill")
+    void tokenBucket() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND / 2, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+        assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+        // A long idle period refills to the burst size and no further
+        long later = 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(later));
+        }
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    @DisplayName("Concurrent callers on one bucket get exactly the burst between them")
+    void tokenBucketUnderContention() throws Exception {
+        TokenBucket bucket = new TokenBucket(0.001, 100, System.nanoTime());
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                calls.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        if (bucket.tryAcquire(System.nanoTime()) == 0) admitted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) call.get();
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(100, admitted.get());
+    }
+
+    @Test
+    @DisplayName("Each client has its own bucket per class; an exhausted one is refused with a retry delay")
+    void perClientRate() {
+        AdmissionLimiter limiter = limiter(1, 2, 10);
+        limiter.admit(AdmissionClass.SCAN, "a", false);
+        limiter.admit(AdmissionClass.SCAN, "a", false);
+        RateLimitedException refused = assertThrows(RateLimitedException.class,
+                () -> limiter.admit(AdmissionClass.SCAN, "a", false));
+        assertTrue(refused.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertTrue(refused.getRetryAfter().compareTo(Duration.ofSeconds(1)) <= 0);
+
+        limiter.admit(AdmissionClass.SCAN, "b", false);
+        limiter.admit(AdmissionClass.LOOKUP, "a", false);
+        assertEquals(1.0, meterRegistry.get("http.admission.rejected").tag("class", "scan").tag("reason", "rate").counter().count());
+    }
+
+    @Test
+    @DisplayName("Concurrency slots are shared by all clients of a class and come back on release")
+    void concurrencySlots() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 2);
+        AdmissionLimiter.Permit first = limiter.admit(AdmissionClass.SCAN, "a", true);
+        limiter.admit(AdmissionClass.SCAN, "b", true);
+        assertThrows(RateLimitedException.class, () -> limiter.admit(AdmissionClass.SCAN, "c", true));
+        assertEquals(2.0, meterRegistry.get("http.admission.in_flight").tag("class", "scan").gauge().value());
+
+        // Long-lived requests and other classes are not held up
+        limiter.admit(AdmissionClass.SCAN, "c", false);
+        limiter.admit(AdmissionClass.WRITE, "c", true);
+
+        first.release();
+        limiter.admit(AdmissionClass.SCAN, "c", true);
+        assertEquals(1.0, meterRegistry.get("http.admission.rejected").tag("class", "scan").tag("reason", "concurrency").counter().count());
+    }
+
+    @Test
+    @DisplayName("Buckets per class are capped, so a stream of new clients cannot grow them without bound")
+    void bucketsCapped() {
+        AdmissionLimiter limiter = new AdmissionLimiter(1, 2, 10, 1, 2, 10, 1, 2, 10, 100, meterRegistry);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.admit(AdmissionClass.SCAN, "client-" + i, false);
+        }
+        assertTrue(limiter.clients(AdmissionClass.SCAN) <= 100);
+        assertEquals(0, limiter.clients(AdmissionClass.LOOKUP));
+    }
+
+    private AdmissionLimiter limiter(double rate, int burst, int concurrency) {
+        return new AdmissionLimiter(rate, burst, concurrency, rate, burst, concurrency, rate, burst, concurrency, 100_000, meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.library.management.lmsv1.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Every added string is reported present")
+    void noFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("978-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("978-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("At capacity, strings never added are reported present at about the configured rate")
+    void falsePositiveRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("978-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("979-" + i)) falsePositives++;
+        }
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Sized at under 10 bits and 7 hashes per string for a 1% rate")
+    void sizing() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+        assertEquals(7, filter.hashCount());
+        assertTrue(filter.byteSize() < 1_250_000, "bytes: " + filter.byteSize());
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1.0));
+    }
+}
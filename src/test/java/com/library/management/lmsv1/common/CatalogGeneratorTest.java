@@ -0,0 +1,45 @@
+package com.library.management.lmsv1.common;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.repository.BookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:generatortest;DB_CLOSE_DELAY=-1",
+        "lms.generator.rows=2500", "lms.generator.batch-size=300", "lms.generator.threads=3"})
+@ActiveProfiles("generate")
+class CatalogGeneratorTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    @DisplayName("The generate profile fills the catalog in parallel batches instead of seeding five books")
+    void generatesCatalog() {
+        assertEquals(2500, bookRepository.count());
+        assertTrue(bookRepository.findResponseByIsbn(SyntheticBooks.isbn(2499)).isPresent());
+        assertTrue(bookRepository.findResponseByIsbn("9780134685991").isEmpty(), "DataSeeder must not run");
+    }
+
+    @Test
+    @DisplayName("Row n gets id n + 1 whatever the threads, and new books are numbered after the catalog")
+    void idsFollowRows() {
+        Book expected = new SyntheticBooks(42, 125, 0.2).book(1234);
+        Book generated = bookRepository.findById(1235L).orElseThrow();
+        assertEquals(expected.getIsbn(), generated.getIsbn());
+        assertEquals(expected.getTitle(), generated.getTitle());
+        assertEquals(expected.getAuthor(), generated.getAuthor());
+        assertEquals(expected.getStatus(), generated.getStatus());
+
+        Book created = bookRepository.saveAndFlush(new Book("New", "Author", "GENERATOR-1", null, BookStatus.AVAILABLE));
+        assertTrue(created.getId() > 2500, "id " + created.getId());
+        bookRepository.delete(created);
+    }
+}
@@ -0,0 +1,69 @@
+package com.library.management.lmsv1.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricstest;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Prometheus scrape exposes HTTP, service, JDBC, Hibernate, pool and row-fetch meters")
+    void prometheusScrape() throws Exception {
+        mockMvc.perform(post("/api/v1/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Metered\",\"author\":\"Author\",\"isbn\":\"METRICS-1\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/books").param("author", "Author"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("uri=\"/api/v1/books\"")))
+                .andExpect(content().string(containsString("book_service_seconds_bucket")))
+                .andExpect(content().string(containsString("method=\"findAll\"")))
+                .andExpect(content().string(containsString("jdbc_query_seconds_count")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("http_server_rows_fetched_rows_count")))
+                .andExpect(content().string(containsString("book_lookup_requests_total")));
+    }
+
+    @Test
+    @DisplayName("Rows read through DTO projections are counted per request")
+    void rowsFetchedByProjectedReads() throws Exception {
+        mockMvc.perform(post("/api/v1/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Counted\",\"author\":\"Row Counter\",\"isbn\":\"METRICS-2\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/books").param("author", "Row Counter"))
+                .andExpect(status().isOk());
+
+        DistributionSummary rows = meterRegistry.get("http.server.rows.fetched")
+                .tag("method", "GET").tag("uri", "/api/v1/books").summary();
+        assertTrue(rows.totalAmount() >= 1, "rows: " + rows.totalAmount());
+    }
+}
@@ -0,0 +1,64 @@
+package com.library.management.lmsv1.common;
+
+import com.library.management.lmsv1.book.BookStatus;
+import com.library.management.lmsv1.book.dto.BookRequestDto;
+import com.library.management.lmsv1.book.service.BookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compression is done by Tomcat, so this needs a real server rather than MockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:compressiontest;DB_CLOSE_DELAY=-1")
+class ResponseCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookService bookService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("JSON over the size threshold is gzipped, small JSON is sent as is with its length")
+    void gzipAboveThreshold() throws Exception {
+        for (int i = 0; i < 60; i++) {
+            bookService.create(new BookRequestDto("Compressed " + i, "Gzip Author", "GZIP-" + i,
+                    LocalDate.of(2020, 1, 1), BookStatus.AVAILABLE));
+        }
+
+        HttpResponse<byte[]> page = get("/api/v1/books?author=Gzip%20Author&size=50");
+        assertEquals(200, page.statusCode());
+        assertEquals("gzip", page.headers().firstValue("Content-Encoding").orElse(null));
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(page.body())).readAllBytes());
+        assertTrue(json.contains("Compressed 0"));
+        assertTrue(page.body().length < json.length() / 3);
+
+        HttpResponse<byte[]> small = get("/api/v1/books/isbn/GZIP-1");
+        assertEquals(200, small.statusCode());
+        assertTrue(small.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(small.body().length, small.headers().firstValueAsLong("Content-Length").orElse(-1));
+    }
+
+    private HttpResponse<byte[]> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
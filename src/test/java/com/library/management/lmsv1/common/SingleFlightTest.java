@@ -0,0 +1,141 @@
+package com.library.management.lmsv1.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Concurrent callers for one key share a single load and its result")
+    void sharesOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<String> leader = pool.submit(() -> flight.load(1L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "book-1";
+            }));
+            waitFor(() -> loads.get() == 1);
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                followers.add(pool.submit(() -> flight.load(1L, () -> {
+                    loads.incrementAndGet();
+                    return "own load";
+                })));
+            }
+            waitFor(() -> flight.joinCount() == 20);
+            release.countDown();
+
+            assertEquals("book-1", leader.get());
+            for (Future<String> follower : followers) {
+                assertEquals("book-1", follower.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.loadCount());
+        assertEquals(20, flight.joinCount());
+    }
+
+    @Test
+    @DisplayName("A failed load hands the same exception to every waiting caller, then the key loads afresh")
+    void propagatesFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<String> leader = pool.submit(() -> flight.load(1L, () -> {
+                await(release);
+                throw failure;
+            }));
+            waitFor(() -> flight.loadCount() == 1);
+            Future<String> follower = pool.submit(() -> flight.load(1L, () -> "own load"));
+            waitFor(() -> flight.joinCount() == 1);
+            release.countDown();
+
+            assertSame(failure, assertThrows(Exception.class, leader::get).getCause());
+            assertSame(failure, assertThrows(Exception.class, follower::get).getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals("recovered", flight.load(1L, () -> "recovered"));
+    }
+
+    @Test
+    @DisplayName("A waiting caller gives up after the timeout while the load carries on")
+    void timesOut() throws Exception {
+        SingleFlight<Long, String> impatient = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<String> leader = pool.submit(() -> impatient.load(1L, () -> {
+                await(release);
+                return "book-1";
+            }));
+            waitFor(() -> impatient.loadCount() == 1);
+            assertThrows(LoadTimeoutException.class, () -> impatient.load(1L, () -> "own load"));
+            release.countDown();
+            assertEquals("book-1", leader.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, impatient.timeoutCount());
+    }
+
+    @Test
+    @DisplayName("Different keys load independently, and a forgotten key is not joined")
+    void keysAndForget() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<String> stale = pool.submit(() -> flight.load(1L, () -> {
+                await(release);
+                return "before write";
+            }));
+            waitFor(() -> flight.loadCount() == 1);
+            assertEquals("book-2", flight.load(2L, () -> "book-2"));
+            flight.forget(1L);
+            assertEquals("after write", flight.load(1L, () -> "after write"));
+            release.countDown();
+            assertEquals("before write", stale.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(3, flight.loadCount());
+        assertEquals(0, flight.joinCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(5);
+        }
+    }
+}
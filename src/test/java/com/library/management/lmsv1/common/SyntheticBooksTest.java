@@ -0,0 +1,73 @@
+package com.library.management.lmsv1.common;
+
+import com.library.management.lmsv1.book.Book;
+import com.library.management.lmsv1.book.BookStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticBooksTest {
+
+    @Test
+    @DisplayName("Rows depend only on seed and row number")
+    void deterministic() {
+        SyntheticBooks a = new SyntheticBooks(7, 500, 0.2);
+        SyntheticBooks b = new SyntheticBooks(7, 500, 0.2);
+        for (long row : new long[]{0, 1, 999, 123_456}) {
+            Book x = a.book(row);
+            Book y = b.book(row);
+            assertEquals(x.getTitle(), y.getTitle());
+            assertEquals(x.getAuthor(), y.getAuthor());
+            assertEquals(x.getIsbn(), y.getIsbn());
+            assertEquals(x.getPublishedDate(), y.getPublishedDate());
+            assertEquals(x.getStatus(), y.getStatus());
+        }
+        assertNotEquals(a.book(5).getTitle() + a.book(5).getAuthor(),
+                new SyntheticBooks(8, 500, 0.2).book(5).getTitle() + new SyntheticBooks(8, 500, 0.2).book(5).getAuthor());
+    }
+
+    @Test
+    @DisplayName("ISBNs are unique, valid ISBN-13s")
+    void isbns() {
+        Set<String> seen = new HashSet<>();
+        for (long row = 0; row < 50_000; row++) {
+            String isbn = SyntheticBooks.isbn(row);
+            assertEquals(13, isbn.length());
+            int sum = 0;
+            for (int i = 0; i < 13; i++) sum += (isbn.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+            assertEquals(0, sum % 10, isbn);
+            assertTrue(seen.add(isbn), "duplicate " + isbn);
+        }
+    }
+
+    @Test
+    @DisplayName("Authors are skewed, names unique per rank, and the status mix follows the ratio")
+    void distributions() {
+        SyntheticBooks books = new SyntheticBooks(42, 1_000, 0.2);
+        Map<String, Integer> perAuthor = new HashMap<>();
+        int borrowed = 0;
+        int undated = 0;
+        int rows = 20_000;
+        for (long row = 0; row < rows; row++) {
+            Book book = books.book(row);
+            perAuthor.merge(book.getAuthor(), 1, Integer::sum);
+            if (book.getStatus() == BookStatus.BORROWED) borrowed++;
+            if (book.getPublishedDate() == null) undated++;
+        }
+        int top = perAuthor.values().stream().max(Integer::compare).orElseThrow();
+        assertTrue(top > 20 * rows / 1_000, "most prolific author should far exceed the uniform share, got " + top);
+        assertEquals(SyntheticBooks.author(0), perAuthor.entrySet().stream()
+                .max(Map.Entry.comparingByValue()).orElseThrow().getKey());
+        assertEquals(0.2, borrowed / (double) rows, 0.02);
+        assertEquals(0.02, undated / (double) rows, 0.01);
+
+        Set<String> names = new HashSet<>();
+        for (int rank = 0; rank < 200_000; rank++) assertTrue(names.add(SyntheticBooks.author(rank)), "rank " + rank);
+    }
+}
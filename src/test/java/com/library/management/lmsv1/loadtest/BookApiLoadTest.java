@@ -0,0 +1,262 @@
+package com.library.management.lmsv1.loadtest;
+
+import com.library.management.lmsv1.book.dto.BookImportResultDto;
+import com.library.management.lmsv1.book.service.BookImportService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test against a real server on a random port. Excluded from the normal build;
+ * run with {@code mvn -Ploadtest test}. Tunables (system properties): {@code loadtest.catalogSize},
+ * {@code loadtest.clients}, {@code loadtest.durationSeconds}, {@code loadtest.seed}.
+ * The per-endpoint report is printed and appended to {@code target/loadtest-report.txt}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1", "logging.level.root=WARN",
+                // Every simulated client shares one address; measure the service, not the per-client limits
+                "lms.admission.enabled=false"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BookApiLoadTest {
+
+    private static final int CATALOG_SIZE = Integer.getInteger("loadtest.catalogSize", 10_000);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 20);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+    private static final int AUTHORS = 500;
+    private static final int HOT_BOOKS = 5;
+    private static final Path REPORT = Path.of("target", "loadtest-report.txt");
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    private HttpClient http;
+    private long minId;
+    private long maxId;
+    private final AtomicLong createSeq = new AtomicLong();
+
+    @BeforeAll
+    void seedCatalog() {
+        StringBuilder ndjson = new StringBuilder(CATALOG_SIZE * 120);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            ndjson.append("{\"title\":\"Title ").append(i)
+                    .append("\",\"author\":\"Author ").append(i % AUTHORS)
+                    .append("\",\"isbn\":\"LOAD-").append(i)
+                    .append("\",\"publishedDate\":\"").append(LocalDate.of(1950, 1, 1).plusDays(i % 25_000))
+                    .append("\",\"status\":\"AVAILABLE\"}\n");
+        }
+        BookImportResultDto result = bookImportService.importBooks(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), 1000);
+        assertEquals(CATALOG_SIZE, result.getImported());
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+        minId = firstId("/api/v1/books?limit=1");
+        maxId = minId + CATALOG_SIZE + 10; // ids are sequence-allocated; misses show up as 404s, not errors
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Read-heavy mix: hot-set lookups, revalidation, filtered lists")
+    void readHeavy() throws Exception {
+        run("read-heavy", (client, rnd, rec) -> {
+            int dice = rnd.nextInt(100);
+            if (dice < 50) {
+                client.call(rec, "GET /{id}", get("/api/v1/books/" + hotSkewedId(rnd)), 200, 404);
+            } else if (dice < 60) {
+                client.call(rec, "GET /{id} If-None-Match", get("/api/v1/books/" + hotSkewedId(rnd))
+                        .header("If-None-Match", "\"0\""), 200, 304, 404);
+            } else if (dice < 70) {
+                client.call(rec, "GET /isbn/{isbn}", get("/api/v1/books/isbn/LOAD-" + rnd.nextInt(CATALOG_SIZE)), 200, 404);
+            } else if (dice < 85) {
+                client.call(rec, "GET / ?author", get("/api/v1/books?author=Author%20" + rnd.nextInt(AUTHORS)), 200);
+            } else if (dice < 92) {
+                client.call(rec, "GET / ?status&cursor", get("/api/v1/books?status=AVAILABLE&limit=50"), 200);
+            } else {
+                client.call(rec, "GET /published-after", get("/api/v1/books/published-after?date="
+                        + LocalDate.of(1950, 1, 1).plusDays(rnd.nextInt(25_000))), 200);
+            }
+        });
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Write-heavy mix: creates, partial updates, deletes")
+    void writeHeavy() throws Exception {
+        run("write-heavy", (client, rnd, rec) -> {
+            int dice = rnd.nextInt(100);
+            if (dice < 40) {
+                long n = createSeq.incrementAndGet();
+                String body = "{\"title\":\"New " + n + "\",\"author\":\"Author " + rnd.nextInt(AUTHORS)
+                        + "\",\"isbn\":\"NEW-" + n + "\",\"publishedDate\":\"2024-01-01\"}";
+                client.call(rec, "POST /", post("/api/v1/books", body), 201);
+            } else if (dice < 75) {
+                String body = "{\"title\":\"Updated " + rnd.nextInt(1_000_000) + "\"}";
+                client.call(rec, "PUT /{id}", put("/api/v1/books/" + randomId(rnd), body), 200, 404, 412);
+            } else if (dice < 85) {
+                client.call(rec, "DELETE /{id}", HttpRequest.newBuilder(uri("/api/v1/books/" + randomId(rnd))).DELETE(),
+                        204, 404, 412);
+            } else {
+                client.call(rec, "GET /{id}", get("/api/v1/books/" + randomId(rnd)), 200, 404);
+            }
+        });
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Checkout storm: every client borrows and returns the same few titles")
+    void checkoutStorm() throws Exception {
+        run("checkout-storm", (client, rnd, rec) -> {
+            long id = minId + rnd.nextInt(HOT_BOOKS);
+            if (rnd.nextBoolean()) {
+                client.call(rec, "POST /{id}/checkout", post("/api/v1/books/" + id + "/checkout", ""), 200, 404, 409);
+            } else {
+                client.call(rec, "POST /{id}/return", post("/api/v1/books/" + id + "/return", ""), 200, 404, 409);
+            }
+        });
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Bulk endpoints: import and full export")
+    void bulkEndpoints() throws Exception {
+        LatencyRecorder rec = new LatencyRecorder();
+        Client client = new Client();
+        long start = System.nanoTime();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            ndjson.append("{\"title\":\"Imported ").append(i).append("\",\"author\":\"Bulk\",\"isbn\":\"BULK-")
+                    .append(i).append("\"}\n");
+        }
+        client.call(rec, "POST /import", HttpRequest.newBuilder(uri("/api/v1/books/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString())), 200);
+        client.call(rec, "GET /export", get("/api/v1/books/export"), 200);
+        client.call(rec, "GET /export?format=csv", get("/api/v1/books/export?format=csv"), 200);
+        report(rec, "bulk", (System.nanoTime() - start) / 1e9);
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        void step(Client client, SplittableRandom rnd, LatencyRecorder rec) throws Exception;
+    }
+
+    private void run(String name, Workload workload) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        long deadline = System.nanoTime() + Duration.ofSeconds(DURATION_SECONDS).toNanos();
+        List<Future<LatencyRecorder>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < CLIENTS; i++) {
+            SplittableRandom rnd = new SplittableRandom(SEED * 31 + i);
+            futures.add(pool.submit(() -> {
+                LatencyRecorder rec = new LatencyRecorder();
+                Client client = new Client();
+                while (System.nanoTime() < deadline) {
+                    workload.step(client, rnd, rec);
+                }
+                return rec;
+            }));
+        }
+        LatencyRecorder merged = new LatencyRecorder();
+        for (Future<LatencyRecorder> f : futures) {
+            merged.mergeFrom(f.get());
+        }
+        pool.shutdown();
+        report(merged, name, (System.nanoTime() - start) / 1e9);
+    }
+
+    private void report(LatencyRecorder rec, String name, double seconds) throws IOException {
+        String text = rec.report(name + " [catalog=" + CATALOG_SIZE + ", clients=" + CLIENTS + "]", seconds);
+        System.out.print(text);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, text, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        assertEquals(0, rec.totalErrors(), "unexpected statuses in " + name);
+    }
+
+    /** One simulated client: records latency per endpoint and counts statuses outside the expected set. */
+    private final class Client {
+        void call(LatencyRecorder rec, String endpoint, HttpRequest.Builder request, int... expected) throws Exception {
+            long t0 = System.nanoTime();
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - t0;
+            boolean ok = false;
+            for (int status : expected) ok |= response.statusCode() == status;
+            rec.record(endpoint, elapsed, !ok);
+        }
+    }
+
+    // 80% of reads go to the first 1% of the catalog, like a trending shelf
+    private long hotSkewedId(SplittableRandom rnd) {
+        int hot = Math.max(1, CATALOG_SIZE / 100);
+        return rnd.nextInt(100) < 80 ? minId + rnd.nextInt(hot) : randomId(rnd);
+    }
+
+    private long randomId(SplittableRandom rnd) {
+        return rnd.nextLong(minId, maxId);
+    }
+
+    private long firstId(String path) {
+        try {
+            String body = http.send(get(path).build(), HttpResponse.BodyHandlers.ofString()).body();
+            Matcher m = ID.matcher(body);
+            assertTrue(m.find(), "no books in " + body);
+            return Long.parseLong(m.group(1));
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest.Builder put(String path, String json) {
+        return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json));
+    }
+}
@@ -0,0 +1,159 @@
+package com.library.management.lmsv1.loadtest;
+
+import com.library.management.lmsv1.Lmsv1Application;
+import com.library.management.lmsv1.book.dto.BookImportResultDto;
+import com.library.management.lmsv1.book.service.BookImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same blocking, database-bound mix against the app on Tomcat platform workers and then on
+ * virtual threads, with far more concurrent clients than worker threads. Excluded from the normal build;
+ * run with {@code mvn -Ploadtest test -Dtest=ExecutionModeLoadTest}. Tunables (system properties):
+ * {@code loadtest.catalogSize}, {@code loadtest.modeClients}, {@code loadtest.durationSeconds}, {@code loadtest.seed}.
+ * Errors are reported per endpoint rather than failing the run. Clients run in the same JVM on virtual
+ * threads, so heap and platform-thread figures include a client side that is identical for both modes.
+ */
+@Tag("load")
+class ExecutionModeLoadTest {
+
+    private static final int CATALOG_SIZE = Integer.getInteger("loadtest.catalogSize", 10_000);
+    private static final int CLIENTS = Integer.getInteger("loadtest.modeClients", 1_000);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 20);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+    private static final int AUTHORS = 500;
+    private static final Path REPORT = Path.of("target", "loadtest-report.txt");
+
+    @Test
+    @DisplayName("Platform worker pool vs virtual threads under high client concurrency")
+    void platformVersusVirtual() throws Exception {
+        String platform = run(false);
+        String virtual = run(true);
+        String text = platform + virtual;
+        System.out.print(text);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, text, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private String run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        // Passed as arguments: builder default properties would lose to application.properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Lmsv1Application.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:mode-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--logging.level.root=WARN",
+                "--lms.admission.enabled=false")) {
+            seed(context.getBean(BookImportService.class));
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10)).build();
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            System.gc();
+            threads.resetPeakThreadCount();
+            AtomicLong peakHeap = new AtomicLong();
+            Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+
+            long start = System.nanoTime();
+            long deadline = start + Duration.ofSeconds(DURATION_SECONDS).toNanos();
+            LatencyRecorder merged = new LatencyRecorder();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<LatencyRecorder>> futures = new ArrayList<>(CLIENTS);
+                for (int i = 0; i < CLIENTS; i++) {
+                    SplittableRandom rnd = new SplittableRandom(SEED * 31 + i);
+                    futures.add(clients.submit(() -> drive(http, port, rnd, deadline)));
+                }
+                for (Future<LatencyRecorder> f : futures) {
+                    merged.mergeFrom(f.get());
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            sampler.interrupt();
+
+            // Non-200s (typically pool acquisition timeouts once saturated) are part of the comparison, not a failure
+            return merged.report(mode + " threads [catalog=" + CATALOG_SIZE + ", clients=" + CLIENTS + "]", seconds)
+                    + String.format("peak heap used %.1f MB, peak live platform threads %d%n",
+                    peakHeap.get() / (1024.0 * 1024.0), threads.getPeakThreadCount());
+        }
+    }
+
+    // Every call except the id lookup reaches the database, so request threads spend most of their time blocked on JDBC
+    private static LatencyRecorder drive(HttpClient http, int port, SplittableRandom rnd, long deadline) throws Exception {
+        LatencyRecorder rec = new LatencyRecorder();
+        while (System.nanoTime() < deadline) {
+            int dice = rnd.nextInt(100);
+            if (dice < 50) {
+                call(http, rec, "GET / ?author", port, "/api/v1/books?author=Author%20" + rnd.nextInt(AUTHORS));
+            } else if (dice < 80) {
+                call(http, rec, "GET /published-after", port, "/api/v1/books/published-after?date="
+                        + LocalDate.of(1950, 1, 1).plusDays(rnd.nextInt(25_000)));
+            } else {
+                call(http, rec, "GET /isbn/{isbn}", port, "/api/v1/books/isbn/MODE-" + rnd.nextInt(CATALOG_SIZE));
+            }
+        }
+        return rec;
+    }
+
+    private static void call(HttpClient http, LatencyRecorder rec, String endpoint, int port, String path)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60)).GET().build();
+        long t0 = System.nanoTime();
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        rec.record(endpoint, System.nanoTime() - t0, response.statusCode() != 200);
+    }
+
+    private static void seed(BookImportService importService) {
+        StringBuilder ndjson = new StringBuilder(CATALOG_SIZE * 120);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            ndjson.append("{\"title\":\"Title ").append(i)
+                    .append("\",\"author\":\"Author ").append(i % AUTHORS)
+                    .append("\",\"isbn\":\"MODE-").append(i)
+                    .append("\",\"publishedDate\":\"").append(LocalDate.of(1950, 1, 1).plusDays(i % 25_000))
+                    .append("\",\"status\":\"AVAILABLE\"}\n");
+        }
+        BookImportResultDto result = importService.importBooks(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), 1000);
+        assertEquals(CATALOG_SIZE, result.getImported(), () -> "seed failed: " + result.getFailures().get(0).getMessage());
+    }
+}
@@ -0,0 +1,80 @@
+package com.library.management.lmsv1.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-worker latency samples keyed by endpoint. Each client thread owns one recorder, so
+ * recording is a plain array append; recorders are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> byEndpoint = new TreeMap<>();
+
+    void record(String endpoint, long nanos, boolean error) {
+        Samples samples = byEndpoint.computeIfAbsent(endpoint, k -> new Samples());
+        samples.add(nanos);
+        if (error) samples.errors++;
+    }
+
+    void mergeFrom(LatencyRecorder other) {
+        other.byEndpoint.forEach((endpoint, samples) ->
+                byEndpoint.computeIfAbsent(endpoint, k -> new Samples()).addAll(samples));
+    }
+
+    long totalErrors() {
+        return byEndpoint.values().stream().mapToLong(s -> s.errors).sum();
+    }
+
+    String report(String title, double seconds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n== %s (%.1fs) ==%n", title, seconds));
+        sb.append(String.format("%-28s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<String, Samples> e : byEndpoint.entrySet()) {
+            Samples s = e.getValue();
+            long[] sorted = s.sorted();
+            total += s.size;
+            sb.append(String.format("%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.getKey(), s.size, s.errors, s.size / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(percentile(sorted, 0.999)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+        }
+        sb.append(String.format("%-28s %9d %7d %10.1f%n", "TOTAL", total, totalErrors(), total / seconds));
+        return sb.toString();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) add(other.values[i]);
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}